@@ -1,9 +1,13 @@
-import java.util.ArrayList;
 import java.util.List;
 
 public class Assignment3 {
     public static List<Integer> getSecondLargestIndex(int[] arr) {
-        List<Integer> indices = new ArrayList<>();
+        return getSecondLargestIndex(arr, new IntList()).toList();
+    }
+
+    // Same as above without boxing; clears indices, fills it and returns it
+    public static IntList getSecondLargestIndex(int[] arr, IntList indices) {
+        indices.clear();
         if (arr.length < 2) {
             return indices; 
         }
@@ -11,14 +15,20 @@ public class Assignment3 {
         int max = Integer.MIN_VALUE;
         int secondMax = Integer.MIN_VALUE;
         int maxCount = 0;
+        IntList maxIndices = new IntList();
 
         for (int i = 0; i < arr.length; i++) {
             if (arr[i] > max) {
                 secondMax = max;
+                // The old maximum's positions are now the second largest's
                 indices.clear();
+                indices.addAll(maxIndices);
+                maxIndices.clear();
+                maxIndices.add(i);
                 max = arr[i];
                 maxCount = 1;
             } else if (arr[i] == max) {
+                maxIndices.add(i);
                 maxCount++;
             } else if (arr[i] > secondMax) {
                 secondMax = arr[i];
@@ -30,15 +40,32 @@ public class Assignment3 {
         }
 
         if (maxCount == arr.length || secondMax == Integer.MIN_VALUE) {
-            return new ArrayList<>();
+            indices.clear();
         }
 
         return indices;
     }
 
+    /**
+     * Fork-join version for large arrays: chunks are summarized in parallel
+     * and merged. Unlike the scan above, Integer.MIN_VALUE counts as an
+     * ordinary value.
+     */
+    public static IntList getSecondLargestIndexParallel(int[] arr) {
+        TopKIndexes top = TopKIndexes.compute(arr, 2);
+        return top.count() < 2 ? new IntList() : top.indices(1);
+    }
+
     public static void main(String[] args) {
         int[] input = {1, 4, 3, -6, 5, 4};
         List<Integer> output = getSecondLargestIndex(input);
         System.out.println("Output: " + output);
+        System.out.println("Parallel: " + getSecondLargestIndexParallel(input));
+
+        // The same input arriving in two chunks
+        TopKIndexes streamed = new TopKIndexes(2);
+        streamed.accept(new int[] {1, 4, 3});
+        streamed.accept(new int[] {-6, 5, 4});
+        System.out.println("Streamed top 2: " + streamed);
     }
 }
@@ -2,10 +2,15 @@ import java.util.*;
 
 public class Assignment4 {
     public static List<Integer> subarraySum(int[] nums) {
-        List<Integer> temp = new ArrayList<>();
+        return subarraySum(nums, new IntList(2)).toList();
+    }
+
+    // Same as above without boxing the result; clears result, fills it and returns it
+    public static IntList subarraySum(int[] nums, IntList result) {
+        result.clear();
   
         if (nums == null || nums.length == 0) {
-            return temp;
+            return result;
         }
         
         int pre_Sum = 0;
@@ -16,21 +21,104 @@ public class Assignment4 {
             pre_Sum += nums[i];
             
             if (map.containsKey(pre_Sum)) {
-                temp.add(map.get(pre_Sum) + 1); 
-                temp.add(i); 
-                return temp;
+                result.add(map.get(pre_Sum) + 1); 
+                result.add(i); 
+                return result;
             }
             
             map.put(pre_Sum, i);
         }
         
-        return temp;
+        return result;
     }
     
+    /**
+     * First subarray (by end index) whose sum is k, as [start, end] in
+     * result, or nothing. Prefix sums are accumulated in a long, so they
+     * cannot overflow the way the int version above can, and are looked up
+     * in a primitive map with one probe per element.
+     */
+    public static IntList findSubarrayWithSum(int[] nums, long k, IntList result) {
+        result.clear();
+        if (nums == null || nums.length == 0) {
+            return result;
+        }
+
+        LongIntHashMap firstIndex = new LongIntHashMap();
+        firstIndex.put(0, -1); // Empty prefix
+        long prefixSum = 0;
+        for (int i = 0; i < nums.length; i++) {
+            prefixSum += nums[i];
+            int start = firstIndex.get(prefixSum - k);
+            if (start != LongIntHashMap.ABSENT) {
+                result.add(start + 1);
+                result.add(i);
+                return result;
+            }
+            firstIndex.getOrPut(prefixSum, i); // Keeps the earliest index of each sum
+        }
+        return result;
+    }
+
+    // Long-accumulating version of subarraySum
+    public static IntList findZeroSumSubarray(int[] nums, IntList result) {
+        result.clear();
+        if (nums == null || nums.length == 0) {
+            return result;
+        }
+
+        LongIntHashMap firstIndex = new LongIntHashMap();
+        firstIndex.put(0, -1);
+        long prefixSum = 0;
+        for (int i = 0; i < nums.length; i++) {
+            prefixSum += nums[i];
+            // One probe: either finds the earlier equal prefix or records this one
+            int earlier = firstIndex.getOrPut(prefixSum, i);
+            if (earlier != LongIntHashMap.ABSENT) {
+                result.add(earlier + 1);
+                result.add(i);
+                return result;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Every zero-sum subarray, appended to result as start, end pairs ordered
+     * by end index. There can be O(n^2) of them.
+     */
+    public static IntList findAllZeroSumSubarrays(int[] nums, IntList result) {
+        result.clear();
+        if (nums == null || nums.length == 0) {
+            return result;
+        }
+
+        // Prefix ends are numbered 0 (the empty prefix) to n. lastEnd maps a
+        // sum to the latest end with that sum; previousEnd chains the earlier ones.
+        LongIntHashMap lastEnd = new LongIntHashMap();
+        int[] previousEnd = new int[nums.length + 1];
+        lastEnd.put(0, 0);
+        previousEnd[0] = -1;
+        long prefixSum = 0;
+        for (int i = 0; i < nums.length; i++) {
+            prefixSum += nums[i];
+            int end = i + 1;
+            int earlier = lastEnd.put(prefixSum, end);
+            previousEnd[end] = earlier == LongIntHashMap.ABSENT ? -1 : earlier;
+            for (int e = previousEnd[end]; e >= 0; e = previousEnd[e]) {
+                result.add(e); // Subarray nums[e..i]
+                result.add(i);
+            }
+        }
+        return result;
+    }
+
     public static void main(String[] args) {
         int[] nums = {1, 2, 3, -6, 5, 4};
 
         System.out.println("Input: " + Arrays.toString(nums));
         System.out.println("Output: " + subarraySum(nums));
+        System.out.println("All zero-sum subarrays: " + findAllZeroSumSubarrays(nums, new IntList()));
+        System.out.println("Subarray with sum 9: " + findSubarrayWithSum(nums, 9, new IntList()));
     }		
 }
\ No newline at end of file
@@ -0,0 +1,48 @@
+package jebi.hendardi.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import jebi.hendardi.entity.Employee;
+import jebi.hendardi.utils.CSVExportWriter;
+
+/**
+ * Synthetic employees shaped like ImportData.csv, generated from a fixed seed.
+ */
+final class EmployeeData {
+    static final String[] DEPARTMENTS = { "WEB", "ADMIN", "MOBILE", "QA", "SYSTEM" };
+    private static final String[] FIRST_NAMES = { "Stesha", "Alf", "Olympe", "Noemi", "Flint", "Jonie", "Ariela", "Joelle" };
+    private static final String[] LAST_NAMES = { "Benyan", "McTiernan", "Nevill", "Silwood", "Haxbie", "Jewel", "Holcroft" };
+    private static final String[] STREETS = { "Ronald Regan Court", "Utah Way", "Rowland Pass", "Orin Plaza", "Oakridge Alley" };
+
+    private EmployeeData() {
+    }
+
+    static List<Employee> employees(int count) {
+        Random random = new Random(42);
+        List<Employee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            LocalDate dob = LocalDate.ofEpochDay(LocalDate.of(1960, 1, 1).toEpochDay() + random.nextInt(365 * 45));
+            String address = random.nextInt(100000) + " " + STREETS[random.nextInt(STREETS.length)];
+            employees.add(new Employee("ABC_" + i, name, dob, address, DEPARTMENTS[random.nextInt(DEPARTMENTS.length)]));
+        }
+        return employees;
+    }
+
+    static Path writeCSV(int count) throws IOException {
+        Path file = Files.createTempFile("employees-bench", ".csv");
+        try (CSVExportWriter writer = CSVExportWriter.open(file.toString())) {
+            writer.writeHeader();
+            for (Employee employee : employees(count)) {
+                writer.write(employee);
+            }
+        }
+        return file;
+    }
+}
@@ -0,0 +1,76 @@
+package jebi.hendardi.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jebi.hendardi.entity.Employee;
+import jebi.hendardi.repository.ColumnarEmployeeRepository;
+import jebi.hendardi.repository.EmployeeRepository;
+import jebi.hendardi.repository.IndexedEmployeeRepository;
+import jebi.hendardi.utils.CSVExportWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The two halves of exportFilteredEmployees: the date-of-birth sort and the
+ * CSV write.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExportBenchmark {
+    @Param({ "100000" })
+    public int rows;
+
+    @Param({ "indexed", "columnar" })
+    public String store;
+
+    private EmployeeRepository repository;
+    private List<Employee> selection;
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        repository = store.equals("columnar") ? new ColumnarEmployeeRepository() : new IndexedEmployeeRepository();
+        repository.saveAll(EmployeeData.employees(rows));
+        selection = repository.findAll();
+        file = Files.createTempFile("employees-export", ".csv");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public List<Employee> sortByDateOfBirth() {
+        return repository.sortedByDateOfBirth(selection);
+    }
+
+    // Drives the writer directly; FileUtils.writeEmployeesToCSV would also time a console print
+    @Benchmark
+    public void writeCSV() throws IOException {
+        try (CSVExportWriter writer = CSVExportWriter.open(file.toString())) {
+            writer.writeHeader();
+            for (Employee employee : selection) {
+                writer.write(employee);
+            }
+        }
+    }
+}
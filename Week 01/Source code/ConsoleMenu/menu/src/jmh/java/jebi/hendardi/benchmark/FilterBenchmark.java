@@ -0,0 +1,79 @@
+package jebi.hendardi.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jebi.hendardi.entity.Employee;
+import jebi.hendardi.repository.ColumnarEmployeeRepository;
+import jebi.hendardi.repository.EmployeeFilter;
+import jebi.hendardi.repository.EmployeeRepository;
+import jebi.hendardi.repository.IndexedEmployeeRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Runs each filter menu predicate against a loaded repository, plus the
+ * plain list scan the menu used before the repositories existed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterBenchmark {
+    @Param({ "100000" })
+    public int rows;
+
+    @Param({ "indexed", "columnar" })
+    public String store;
+
+    private EmployeeRepository repository;
+    private List<Employee> list;
+
+    @Setup
+    public void setUp() {
+        list = EmployeeData.employees(rows);
+        repository = store.equals("columnar") ? new ColumnarEmployeeRepository() : new IndexedEmployeeRepository();
+        repository.saveAll(list);
+    }
+
+    @Benchmark
+    public List<Employee> all() {
+        return EmployeeFilter.all().apply(repository);
+    }
+
+    @Benchmark
+    public List<Employee> name() {
+        return EmployeeFilter.nameContaining("Nevill").apply(repository);
+    }
+
+    @Benchmark
+    public List<Employee> id() {
+        return EmployeeFilter.idContaining("_4242").apply(repository);
+    }
+
+    @Benchmark
+    public List<Employee> birthYear() {
+        return EmployeeFilter.birthYear(1990).apply(repository);
+    }
+
+    @Benchmark
+    public List<Employee> department() {
+        return EmployeeFilter.department("web").apply(repository);
+    }
+
+    @Benchmark
+    public long listScanDepartment() {
+        return list.stream().filter(EmployeeFilter.department("web")).count();
+    }
+}
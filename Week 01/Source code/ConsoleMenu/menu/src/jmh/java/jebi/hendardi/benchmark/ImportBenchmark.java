@@ -0,0 +1,69 @@
+package jebi.hendardi.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jebi.hendardi.entity.Employee;
+import jebi.hendardi.utils.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Imports a synthetic CSV of {@code rows} employees with each reader.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImportBenchmark {
+    @Param({ "100000" })
+    public int rows;
+
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = EmployeeData.writeCSV(rows);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public List<Employee> manual() {
+        return FileUtils.readEmployeesFromCSVManual(file.toString());
+    }
+
+    @Benchmark
+    public List<Employee> openCSV() {
+        return FileUtils.readEmployeesFromCSVOpenCSV(file.toString());
+    }
+
+    @Benchmark
+    public long mapped(Blackhole blackhole) {
+        return FileUtils.readEmployeesFromCSVMapped(file.toString(), blackhole::consume);
+    }
+
+    @Benchmark
+    public List<Employee> parallel() {
+        return FileUtils.readEmployeesFromCSVParallel(file.toString());
+    }
+}
@@ -1,9 +1,13 @@
 package jebi.hendardi;
 
 import jebi.hendardi.control.AppManager;
+import jebi.hendardi.control.BatchRunner;
 
 public class App {
     public static void main(String[] args) {
+        if (args.length > 0) {
+            System.exit(new BatchRunner().run(args));
+        }
         AppManager appManager = AppManager.getInstance();
         appManager.start();
     }
@@ -3,20 +3,26 @@ package jebi.hendardi.control;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
-import java.util.stream.Collectors;
 
 import jebi.hendardi.entity.Employee;
+import jebi.hendardi.repository.ColumnarEmployeeRepository;
+import jebi.hendardi.repository.EmployeeFilter;
+import jebi.hendardi.repository.EmployeeRepository;
+import jebi.hendardi.repository.IndexedEmployeeRepository;
 import jebi.hendardi.utils.DateUtils;
 import jebi.hendardi.utils.FileUtils;
 
 public class AppManager {
     private static AppManager instance;
-    private List<Employee> employees;
+    private final EmployeeRepository employees;
     private final Scanner scanner;
     private boolean useOpenCSV;
 
     private AppManager() {
-        employees = new ArrayList<>();
+        // -Demployee.store=columnar trades the object graph for packed columns
+        employees = "columnar".equalsIgnoreCase(System.getProperty("employee.store"))
+                ? new ColumnarEmployeeRepository()
+                : new IndexedEmployeeRepository();
         scanner = new Scanner(System.in);
         useOpenCSV = false;
     }
@@ -43,6 +49,7 @@ public class AppManager {
                     case 2 -> addEmployee();
                     case 3 -> printFilteredEmployees();
                     case 4 -> exportFilteredEmployees();
+                    case 5 -> exportFromFile();
                     default -> System.out.println("Invalid choice. Please try again.");
                 }
             } catch (NumberFormatException e) {
@@ -60,6 +67,7 @@ public class AppManager {
         System.out.println("2 - Add new Employee");
         System.out.println("3 - Filter Employees");
         System.out.println("4 - Export filtered Employees");
+        System.out.println("5 - Export filtered Employees from file (sorted, bounded memory)");
         System.out.print("Choose an option: ");
     }
 
@@ -68,6 +76,8 @@ public class AppManager {
             System.out.println("Select CSV reading method:");
             System.out.println("1 - Manual");
             System.out.println("2 - OpenCSV");
+            System.out.println("3 - Memory-mapped (streaming)");
+            System.out.println("4 - Parallel (all cores)");
             System.out.print("Choose an option: ");
             int choice = Integer.parseInt(scanner.nextLine().trim());
             useOpenCSV = (choice == 2);
@@ -80,8 +90,21 @@ public class AppManager {
                 return;
             }
 
+            if (choice == 3) {
+                // Rows go straight into the list, no intermediate copy of the file
+                long imported = FileUtils.readEmployeesFromCSVMapped(filePath, employees::save);
+                if (imported == 0) {
+                    System.out.println("No employees found in the file or file could not be read.");
+                } else {
+                    System.out.println("Imported " + imported + " employees successfully.");
+                }
+                return;
+            }
+
             List<Employee> importedEmployees;
-            if (useOpenCSV) {
+            if (choice == 4) {
+                importedEmployees = FileUtils.readEmployeesFromCSVParallel(filePath);
+            } else if (useOpenCSV) {
                 importedEmployees = FileUtils.readEmployeesFromCSVOpenCSV(filePath);
             } else {
                 importedEmployees = FileUtils.readEmployeesFromCSVManual(filePath);
@@ -90,12 +113,12 @@ public class AppManager {
             if (importedEmployees.isEmpty()) {
                 System.out.println("No employees found in the file or file could not be read.");
             } else {
-                employees.addAll(importedEmployees);
+                employees.saveAll(importedEmployees);
                 System.out.println("Imported " + importedEmployees.size() + " employees successfully.");
             }
 
         } catch (NumberFormatException e) {
-            System.out.println("Invalid input for reading method. Please enter a number (1 or 2).");
+            System.out.println("Invalid input for reading method. Please enter a number (1-4).");
         } catch (Exception e) {
             System.out.println("An error occurred during import: " + e.getMessage());
         }
@@ -106,10 +129,7 @@ public class AppManager {
             System.out.print("Enter ID: ");
             String id = scanner.nextLine().trim();
 
-            Employee existingEmployee = employees.stream()
-                    .filter(e -> e.getId().equalsIgnoreCase(id))
-                    .findFirst()
-                    .orElse(null);
+            Employee existingEmployee = employees.findById(id).orElse(null);
 
             if (existingEmployee != null) {
                 System.out.println("Employee with ID " + id + " already exists.");
@@ -119,7 +139,6 @@ public class AppManager {
                     System.out.println("Addition cancelled.");
                     return;
                 }
-                employees.remove(existingEmployee);
             }
 
             System.out.print("Enter Name: ");
@@ -132,7 +151,7 @@ public class AppManager {
             String department = scanner.nextLine().trim();
 
             Employee employee = new Employee(id, name, DateUtils.parseDate(dobString), address, department);
-            employees.add(employee);
+            employees.save(employee);
             System.out.println("Employee added successfully.");
         } catch (Exception e) {
             System.out.println("An error occurred while adding the employee: " + e.getMessage());
@@ -140,6 +159,11 @@ public class AppManager {
     }
 
     private List<Employee> filterEmployees() {
+        EmployeeFilter filter = promptFilter();
+        return filter == null ? new ArrayList<>() : filter.apply(employees);
+    }
+
+    private EmployeeFilter promptFilter() {
         System.out.println("Filter by:");
         System.out.println("0 - All Data");
         System.out.println("1 - Name");
@@ -149,46 +173,35 @@ public class AppManager {
         System.out.print("Choose an option: ");
         try {
             int choice = Integer.parseInt(scanner.nextLine().trim());
-            List<Employee> filtered = new ArrayList<>();
             switch (choice) {
                 case 0 -> {
                     // Tampilkan semua data
-                    filtered = new ArrayList<>(employees);
+                    return EmployeeFilter.all();
                 }
                 case 1 -> {
                     System.out.print("Enter name pattern: ");
-                    String namePattern = scanner.nextLine();
-                    filtered = employees.stream()
-                            .filter(e -> e.getName().contains(namePattern))
-                            .collect(Collectors.toList());
+                    return EmployeeFilter.nameContaining(scanner.nextLine());
                 }
                 case 2 -> {
                     System.out.print("Enter ID pattern: ");
-                    String idPattern = scanner.nextLine();
-                    filtered = employees.stream()
-                            .filter(e -> e.getId().contains(idPattern))
-                            .collect(Collectors.toList());
+                    return EmployeeFilter.idContaining(scanner.nextLine());
                 }
                 case 3 -> {
                     System.out.print("Enter year of birth: ");
-                    int year = Integer.parseInt(scanner.nextLine().trim());
-                    filtered = employees.stream()
-                            .filter(e -> e.getDateOfBirth().getYear() == year)
-                            .collect(Collectors.toList());
+                    return EmployeeFilter.birthYear(Integer.parseInt(scanner.nextLine().trim()));
                 }
                 case 4 -> {
                     System.out.print("Enter Department: ");
-                    String department = scanner.nextLine();
-                    filtered = employees.stream()
-                            .filter(e -> e.getDepartment().equalsIgnoreCase(department))
-                            .collect(Collectors.toList());
+                    return EmployeeFilter.department(scanner.nextLine());
+                }
+                default -> {
+                    System.out.println("Invalid choice. Returning to menu.");
+                    return null;
                 }
-                default -> System.out.println("Invalid choice. Returning to menu.");
             }
-            return filtered;
         } catch (NumberFormatException e) {
             System.out.println("Invalid input. Please enter a number.");
-            return new ArrayList<>();
+            return null;
         }
     }
 
@@ -201,11 +214,25 @@ public class AppManager {
     }
 
     private void exportFilteredEmployees() {
-        List<Employee> filteredEmployees = filterEmployees().stream()
-                .sorted((e1, e2) -> e1.getDateOfBirth().compareTo(e2.getDateOfBirth()))
-                .collect(Collectors.toList());
+        List<Employee> filteredEmployees = employees.sortedByDateOfBirth(filterEmployees());
         System.out.print("Enter the file path to save: ");
         String filePath = scanner.nextLine();
         FileUtils.writeEmployeesToCSV(filteredEmployees, filePath);
     }
+
+    private void exportFromFile() {
+        System.out.print("Enter the CSV file to read: ");
+        String inputPath = scanner.nextLine().trim();
+        if (inputPath.isEmpty()) {
+            System.out.println("File path cannot be empty. Please try again.");
+            return;
+        }
+        EmployeeFilter filter = promptFilter();
+        if (filter == null) {
+            return;
+        }
+        System.out.print("Enter the file path to save: ");
+        String outputPath = scanner.nextLine();
+        FileUtils.exportSortedFromCSV(inputPath, filter, outputPath);
+    }
 }
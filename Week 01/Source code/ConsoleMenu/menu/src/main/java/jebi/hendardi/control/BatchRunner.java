@@ -0,0 +1,147 @@
+package jebi.hendardi.control;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jebi.hendardi.entity.Employee;
+import jebi.hendardi.repository.ColumnarEmployeeRepository;
+import jebi.hendardi.repository.EmployeeFilter;
+import jebi.hendardi.repository.EmployeeRepository;
+import jebi.hendardi.repository.IndexedEmployeeRepository;
+import jebi.hendardi.utils.FileUtils;
+
+/**
+ * Headless mode: runs the import, filter and export menu operations as one
+ * pipeline described on the command line, e.g.
+ * <pre>
+ * import --parallel employees.csv filter --dept WEB export --sorted out.csv
+ * </pre>
+ * Consecutive filters narrow the same selection.
+ */
+public class BatchRunner {
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: [--store indexed|columnar] <step>...",
+            "  import [--manual|--opencsv|--mapped|--parallel] <file>",
+            "  filter --all | --name <pattern> | --id <pattern> | --year <year> | --dept <department>",
+            "  export [--sorted] <file>      (.gz output is gzip-compressed)");
+
+    private EmployeeRepository employees = new IndexedEmployeeRepository();
+    private List<Employee> selection;
+    private String[] args;
+    private int pos;
+
+    /**
+     * @return the process exit code
+     */
+    public int run(String[] args) {
+        this.args = args;
+        this.pos = 0;
+        try {
+            if (peek("--store")) {
+                pos++;
+                String store = next("store name");
+                if (store.equalsIgnoreCase("columnar")) {
+                    employees = new ColumnarEmployeeRepository();
+                } else if (!store.equalsIgnoreCase("indexed")) {
+                    throw new IllegalArgumentException("Unknown store: " + store);
+                }
+            }
+            if (pos == args.length) {
+                throw new IllegalArgumentException("No steps given.");
+            }
+            while (pos < args.length) {
+                String step = next("step");
+                switch (step) {
+                    case "import" -> importStep();
+                    case "filter" -> filterStep();
+                    case "export" -> exportStep();
+                    default -> throw new IllegalArgumentException("Unknown step: " + step);
+                }
+            }
+            return 0;
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            System.out.println(USAGE);
+            return 2;
+        } catch (IOException e) {
+            System.out.println("File error: " + e);
+            return 1;
+        } catch (Exception e) {
+            System.out.println("An error occurred: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    // Steps use the throwing FileUtils variants so a failed import or export fails the run
+    private void importStep() throws IOException {
+        String method = peek("--") ? next("read method") : "--mapped";
+        String filePath = next("file path");
+        long imported;
+        switch (method) {
+            case "--manual" -> imported = save(FileUtils.loadEmployeesFromCSVManual(filePath));
+            case "--opencsv" -> imported = save(FileUtils.loadEmployeesFromCSVOpenCSV(filePath));
+            case "--parallel" -> imported = save(FileUtils.loadEmployeesFromCSVParallel(filePath));
+            case "--mapped" -> imported = FileUtils.loadEmployeesFromCSVMapped(filePath, employees::save);
+            default -> throw new IllegalArgumentException("Unknown read method: " + method);
+        }
+        selection = null;
+        System.out.println("Imported " + imported + " employees from " + filePath + ".");
+    }
+
+    private long save(List<Employee> imported) {
+        employees.saveAll(imported);
+        return imported.size();
+    }
+
+    private void filterStep() {
+        String option = next("filter option");
+        EmployeeFilter filter = switch (option) {
+            case "--all" -> EmployeeFilter.all();
+            case "--name" -> EmployeeFilter.nameContaining(next("name pattern"));
+            case "--id" -> EmployeeFilter.idContaining(next("ID pattern"));
+            case "--year" -> EmployeeFilter.birthYear(parseYear(next("year")));
+            case "--dept" -> EmployeeFilter.department(next("department"));
+            default -> throw new IllegalArgumentException("Unknown filter option: " + option);
+        };
+        if (selection == null) {
+            selection = filter.apply(employees);
+        } else {
+            selection = selection.stream().filter(filter).collect(Collectors.toList());
+        }
+        System.out.println("Selected " + selection.size() + " employee(s).");
+    }
+
+    private void exportStep() throws IOException {
+        boolean sorted = peek("--sorted");
+        if (sorted) {
+            pos++;
+        }
+        String filePath = next("file path");
+        List<Employee> rows = selection == null ? employees.findAll() : selection;
+        if (sorted) {
+            rows = employees.sortedByDateOfBirth(rows);
+        }
+        FileUtils.saveEmployeesToCSV(rows, filePath);
+        System.out.println("Exported " + rows.size() + " employees to " + filePath + ".");
+    }
+
+    private static int parseYear(String year) {
+        try {
+            return Integer.parseInt(year);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid year: " + year);
+        }
+    }
+
+    private boolean peek(String prefix) {
+        return pos < args.length && args[pos].startsWith(prefix);
+    }
+
+    private String next(String what) {
+        if (pos == args.length) {
+            throw new IllegalArgumentException("Missing " + what + ".");
+        }
+        return args[pos++];
+    }
+}
@@ -1,10 +1,10 @@
 package jebi.hendardi.entity;
 
+import jebi.hendardi.utils.DateUtils;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 
 @Data
 @AllArgsConstructor
@@ -16,7 +16,9 @@ public class Employee {
     private String department;
 
     public String toCSV() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("d/M/yyyy");
-        return id + "," + name + "," + dateOfBirth.format(formatter) + "," + address + "," + department;
+        StringBuilder sb = new StringBuilder(id.length() + name.length() + address.length() + department.length() + 14);
+        sb.append(id).append(',').append(name).append(',');
+        DateUtils.appendDate(sb, dateOfBirth);
+        return sb.append(',').append(address).append(',').append(department).toString();
     }
 }
@@ -0,0 +1,323 @@
+package jebi.hendardi.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.function.IntPredicate;
+
+import jebi.hendardi.entity.Employee;
+
+/**
+ * Column-oriented repository. Each employee is a row number into primitive
+ * columns: ID and name are UTF-8 bytes packed into one array with offsets,
+ * department and address are dictionary codes, and the date of birth is an
+ * epoch day. Filters scan the columns and return lazy row lists that only
+ * build an {@link Employee} when an element is read.
+ *
+ * <p>Overwriting an ID marks its old row dead and appends a new one. IDs are
+ * matched ASCII case-insensitively.
+ */
+public class ColumnarEmployeeRepository implements EmployeeRepository {
+    private static final int INITIAL_ROWS = 1024;
+
+    private int rowCount;
+    private int liveCount;
+    private final BitSet dead = new BitSet();
+
+    private final PackedStrings ids = new PackedStrings();
+    private final PackedStrings names = new PackedStrings();
+    private int[] dateOfBirth = new int[INITIAL_ROWS];
+    private final Dictionary addresses = new Dictionary();
+    private final Dictionary departments = new Dictionary();
+
+    // Open-addressing ID index holding row + 1, 0 marks an empty slot
+    private int[] idTable = new int[INITIAL_ROWS * 2];
+
+    @Override
+    public Optional<Employee> findById(String id) {
+        int slot = findSlot(id.getBytes(StandardCharsets.UTF_8));
+        return idTable[slot] == 0 ? Optional.empty() : Optional.of(row(idTable[slot] - 1));
+    }
+
+    @Override
+    public Employee save(Employee employee) {
+        // The column holds int epoch days, about 5.8 million years either side of 1970
+        long epochDay = employee.getDateOfBirth().toEpochDay();
+        if (epochDay != (int) epochDay) {
+            throw new IllegalArgumentException("Date of birth out of range: " + employee.getDateOfBirth());
+        }
+        if (rowCount == dateOfBirth.length) {
+            dateOfBirth = Arrays.copyOf(dateOfBirth, rowCount * 2);
+        }
+        byte[] id = employee.getId().getBytes(StandardCharsets.UTF_8);
+        int row = rowCount++;
+        ids.add(id);
+        names.add(employee.getName().getBytes(StandardCharsets.UTF_8));
+        dateOfBirth[row] = (int) epochDay;
+        addresses.add(employee.getAddress());
+        departments.add(employee.getDepartment());
+
+        int slot = findSlot(id);
+        Employee existing = null;
+        if (idTable[slot] != 0) {
+            existing = row(idTable[slot] - 1);
+            dead.set(idTable[slot] - 1);
+            idTable[slot] = row + 1;
+        } else {
+            idTable[slot] = row + 1;
+            if (++liveCount * 2 > idTable.length) {
+                rehash();
+            }
+        }
+        return existing;
+    }
+
+    @Override
+    public List<Employee> findAll() {
+        return select(row -> true);
+    }
+
+    @Override
+    public List<Employee> findByNameContaining(String pattern) {
+        byte[] bytes = pattern.getBytes(StandardCharsets.UTF_8);
+        return select(row -> names.contains(row, bytes));
+    }
+
+    @Override
+    public List<Employee> findByIdContaining(String pattern) {
+        byte[] bytes = pattern.getBytes(StandardCharsets.UTF_8);
+        return select(row -> ids.contains(row, bytes));
+    }
+
+    @Override
+    public List<Employee> findByBirthYear(int year) {
+        // Years LocalDate cannot hold have no employees, as in the indexed store
+        if (year < Year.MIN_VALUE || year > Year.MAX_VALUE) {
+            return new ArrayList<>();
+        }
+        long from = LocalDate.of(year, 1, 1).toEpochDay();
+        long to = year == Year.MAX_VALUE ? LocalDate.MAX.toEpochDay() + 1 : LocalDate.of(year + 1, 1, 1).toEpochDay();
+        return select(row -> dateOfBirth[row] >= from && dateOfBirth[row] < to);
+    }
+
+    @Override
+    public List<Employee> findByDepartment(String department) {
+        boolean[] matches = departments.matchIgnoreCase(department);
+        return select(row -> matches[departments.code(row)]);
+    }
+
+    /**
+     * Sorts a row list produced by this repository on the date-of-birth column
+     * with a primitive sort; other lists use the default comparator sort.
+     */
+    @Override
+    public List<Employee> sortedByDateOfBirth(List<Employee> employees) {
+        if (!(employees instanceof Rows) || ((Rows) employees).owner() != this) {
+            return EmployeeRepository.super.sortedByDateOfBirth(employees);
+        }
+        int[] rows = ((Rows) employees).rows;
+        long[] keys = new long[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            // Row numbers in the low bits keep equal dates in insertion order
+            keys[i] = ((long) dateOfBirth[rows[i]] << 32) | rows[i];
+        }
+        Arrays.sort(keys);
+        int[] sorted = new int[rows.length];
+        for (int i = 0; i < keys.length; i++) {
+            sorted[i] = (int) keys[i];
+        }
+        return new Rows(sorted);
+    }
+
+    @Override
+    public int size() {
+        return liveCount;
+    }
+
+    private List<Employee> select(IntPredicate predicate) {
+        int[] rows = new int[16];
+        int count = 0;
+        for (int row = dead.nextClearBit(0); row < rowCount; row = dead.nextClearBit(row + 1)) {
+            if (predicate.test(row)) {
+                if (count == rows.length) {
+                    rows = Arrays.copyOf(rows, count * 2);
+                }
+                rows[count++] = row;
+            }
+        }
+        return new Rows(Arrays.copyOf(rows, count));
+    }
+
+    private Employee row(int row) {
+        return new Employee(ids.get(row), names.get(row), LocalDate.ofEpochDay(dateOfBirth[row]),
+                addresses.value(row), departments.value(row));
+    }
+
+    private int findSlot(byte[] id) {
+        int mask = idTable.length - 1;
+        int slot = hashIgnoreCase(id) & mask;
+        while (idTable[slot] != 0 && !ids.equalsIgnoreCase(idTable[slot] - 1, id)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash() {
+        int[] old = idTable;
+        idTable = new int[old.length * 2];
+        int mask = idTable.length - 1;
+        for (int entry : old) {
+            if (entry != 0) {
+                int slot = ids.hashIgnoreCase(entry - 1) & mask;
+                while (idTable[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                idTable[slot] = entry;
+            }
+        }
+    }
+
+    private static int hashIgnoreCase(byte[] bytes) {
+        int h = 0;
+        for (byte b : bytes) {
+            h = 31 * h + lowerAscii(b);
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static int lowerAscii(byte b) {
+        return b >= 'A' && b <= 'Z' ? b + ('a' - 'A') : b;
+    }
+
+    /**
+     * Employees of selected rows, built on access.
+     */
+    private final class Rows extends AbstractList<Employee> implements RandomAccess {
+        private final int[] rows;
+
+        Rows(int[] rows) {
+            this.rows = rows;
+        }
+
+        ColumnarEmployeeRepository owner() {
+            return ColumnarEmployeeRepository.this;
+        }
+
+        @Override
+        public Employee get(int index) {
+            return row(rows[index]);
+        }
+
+        @Override
+        public int size() {
+            return rows.length;
+        }
+    }
+
+    /**
+     * Variable-length UTF-8 values packed back to back, value i spanning
+     * bytes[start[i]] up to bytes[start[i + 1]].
+     */
+    private static final class PackedStrings {
+        private byte[] bytes = new byte[INITIAL_ROWS * 16];
+        private int[] start = new int[INITIAL_ROWS + 1];
+        private int count;
+
+        void add(byte[] value) {
+            int end = start[count];
+            if (end + value.length > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, end + value.length));
+            }
+            if (count + 2 > start.length) {
+                start = Arrays.copyOf(start, start.length * 2);
+            }
+            System.arraycopy(value, 0, bytes, end, value.length);
+            start[++count] = end + value.length;
+        }
+
+        String get(int i) {
+            return new String(bytes, start[i], start[i + 1] - start[i], StandardCharsets.UTF_8);
+        }
+
+        boolean contains(int i, byte[] pattern) {
+            int from = start[i];
+            int last = start[i + 1] - pattern.length;
+            outer:
+            for (int p = from; p <= last; p++) {
+                for (int j = 0; j < pattern.length; j++) {
+                    if (bytes[p + j] != pattern[j]) {
+                        continue outer;
+                    }
+                }
+                return true;
+            }
+            return false;
+        }
+
+        boolean equalsIgnoreCase(int i, byte[] other) {
+            int from = start[i];
+            if (start[i + 1] - from != other.length) {
+                return false;
+            }
+            for (int j = 0; j < other.length; j++) {
+                if (lowerAscii(bytes[from + j]) != lowerAscii(other[j])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        int hashIgnoreCase(int i) {
+            int h = 0;
+            for (int p = start[i]; p < start[i + 1]; p++) {
+                h = 31 * h + lowerAscii(bytes[p]);
+            }
+            return h ^ (h >>> 16);
+        }
+    }
+
+    /**
+     * Dictionary-encoded string column: one int code per row.
+     */
+    private static final class Dictionary {
+        private final List<String> values = new ArrayList<>();
+        private final Map<String, Integer> codes = new HashMap<>();
+        private int[] rowCodes = new int[INITIAL_ROWS];
+        private int count;
+
+        void add(String value) {
+            if (count == rowCodes.length) {
+                rowCodes = Arrays.copyOf(rowCodes, count * 2);
+            }
+            rowCodes[count++] = codes.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+
+        int code(int row) {
+            return rowCodes[row];
+        }
+
+        String value(int row) {
+            return values.get(rowCodes[row]);
+        }
+
+        boolean[] matchIgnoreCase(String value) {
+            boolean[] matches = new boolean[values.size()];
+            for (int code = 0; code < matches.length; code++) {
+                matches[code] = values.get(code).equalsIgnoreCase(value);
+            }
+            return matches;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package jebi.hendardi.repository;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+import jebi.hendardi.entity.Employee;
+
+/**
+ * One of the filter menu options. It can be answered from a repository's
+ * indexes or tested against employees streamed from a file.
+ */
+public class EmployeeFilter implements Predicate<Employee> {
+    public enum Type { ALL, NAME, ID, BIRTH_YEAR, DEPARTMENT }
+
+    private final Type type;
+    private final String text;
+    private final int year;
+
+    private EmployeeFilter(Type type, String text, int year) {
+        this.type = type;
+        this.text = text;
+        this.year = year;
+    }
+
+    public static EmployeeFilter all() {
+        return new EmployeeFilter(Type.ALL, null, 0);
+    }
+
+    public static EmployeeFilter nameContaining(String pattern) {
+        return new EmployeeFilter(Type.NAME, pattern, 0);
+    }
+
+    public static EmployeeFilter idContaining(String pattern) {
+        return new EmployeeFilter(Type.ID, pattern, 0);
+    }
+
+    public static EmployeeFilter birthYear(int year) {
+        return new EmployeeFilter(Type.BIRTH_YEAR, null, year);
+    }
+
+    public static EmployeeFilter department(String department) {
+        return new EmployeeFilter(Type.DEPARTMENT, department, 0);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public List<Employee> apply(EmployeeRepository repository) {
+        return switch (type) {
+            case NAME -> repository.findByNameContaining(text);
+            case ID -> repository.findByIdContaining(text);
+            case BIRTH_YEAR -> repository.findByBirthYear(year);
+            case DEPARTMENT -> repository.findByDepartment(text);
+            case ALL -> repository.findAll();
+        };
+    }
+
+    @Override
+    public boolean test(Employee employee) {
+        return switch (type) {
+            case NAME -> employee.getName().contains(text);
+            case ID -> employee.getId().contains(text);
+            case BIRTH_YEAR -> employee.getDateOfBirth().getYear() == year;
+            case DEPARTMENT -> employee.getDepartment().equalsIgnoreCase(text);
+            case ALL -> true;
+        };
+    }
+}
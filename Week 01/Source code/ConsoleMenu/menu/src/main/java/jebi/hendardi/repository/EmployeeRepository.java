@@ -0,0 +1,51 @@
+package jebi.hendardi.repository;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import jebi.hendardi.entity.Employee;
+
+/**
+ * In-memory store of employees keyed by case-insensitive ID.
+ */
+public interface EmployeeRepository {
+
+    Optional<Employee> findById(String id);
+
+    /**
+     * Inserts the employee, replacing any employee with the same ID.
+     *
+     * @return the replaced employee, or null
+     */
+    Employee save(Employee employee);
+
+    default void saveAll(Iterable<Employee> employees) {
+        for (Employee employee : employees) {
+            save(employee);
+        }
+    }
+
+    List<Employee> findAll();
+
+    List<Employee> findByNameContaining(String pattern);
+
+    List<Employee> findByIdContaining(String pattern);
+
+    List<Employee> findByBirthYear(int year);
+
+    List<Employee> findByDepartment(String department);
+
+    /**
+     * Returns the employees ordered by date of birth, keeping the given order
+     * for equal dates.
+     */
+    default List<Employee> sortedByDateOfBirth(List<Employee> employees) {
+        return employees.stream()
+                .sorted(Comparator.comparing(Employee::getDateOfBirth))
+                .collect(Collectors.toList());
+    }
+
+    int size();
+}
@@ -0,0 +1,128 @@
+package jebi.hendardi.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import jebi.hendardi.entity.Employee;
+
+/**
+ * Hash-indexed repository: lookups and upserts by ID are O(1), the department
+ * and birth-year filters read their postings directly, and the name/ID
+ * contains filters go through trigram indexes. Every index is maintained on
+ * save, and results keep insertion order.
+ */
+public class IndexedEmployeeRepository implements EmployeeRepository {
+    private final Map<String, Employee> byId = new LinkedHashMap<>();
+    private final Map<String, Set<Employee>> byDepartment = new HashMap<>();
+    private final TrigramIndex byName = new TrigramIndex(Employee::getName);
+    private final TrigramIndex byIdText = new TrigramIndex(Employee::getId);
+
+    // Birth-year buckets; yearBuckets.get(i) holds the year firstYear + i
+    private List<Set<Employee>> yearBuckets = new ArrayList<>();
+    private int firstYear;
+
+    @Override
+    public Optional<Employee> findById(String id) {
+        return Optional.ofNullable(byId.get(key(id)));
+    }
+
+    @Override
+    public Employee save(Employee employee) {
+        String key = key(employee.getId());
+        Employee existing = byId.remove(key);
+        if (existing != null) {
+            unindex(existing);
+        }
+        byId.put(key, employee);
+        index(employee);
+        return existing;
+    }
+
+    @Override
+    public List<Employee> findAll() {
+        return new ArrayList<>(byId.values());
+    }
+
+    @Override
+    public List<Employee> findByNameContaining(String pattern) {
+        return byName.search(pattern, byId.values());
+    }
+
+    @Override
+    public List<Employee> findByIdContaining(String pattern) {
+        return byIdText.search(pattern, byId.values());
+    }
+
+    @Override
+    public List<Employee> findByBirthYear(int year) {
+        int i = year - firstYear;
+        if (i < 0 || i >= yearBuckets.size() || yearBuckets.get(i) == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(yearBuckets.get(i));
+    }
+
+    @Override
+    public List<Employee> findByDepartment(String department) {
+        return new ArrayList<>(byDepartment.getOrDefault(key(department), Collections.emptySet()));
+    }
+
+    @Override
+    public int size() {
+        return byId.size();
+    }
+
+    private void index(Employee employee) {
+        byDepartment.computeIfAbsent(key(employee.getDepartment()), k -> new LinkedHashSet<>()).add(employee);
+        yearBucket(employee.getDateOfBirth().getYear()).add(employee);
+        byName.add(employee);
+        byIdText.add(employee);
+    }
+
+    private void unindex(Employee employee) {
+        removePosting(byDepartment, key(employee.getDepartment()), employee);
+        yearBuckets.get(employee.getDateOfBirth().getYear() - firstYear).remove(employee);
+        byName.remove(employee);
+        byIdText.remove(employee);
+    }
+
+    private Set<Employee> yearBucket(int year) {
+        if (yearBuckets.isEmpty()) {
+            firstYear = year;
+        } else if (year < firstYear) {
+            List<Set<Employee>> grown = new ArrayList<>(Collections.nCopies(firstYear - year, null));
+            grown.addAll(yearBuckets);
+            yearBuckets = grown;
+            firstYear = year;
+        }
+        int i = year - firstYear;
+        while (yearBuckets.size() <= i) {
+            yearBuckets.add(null);
+        }
+        Set<Employee> bucket = yearBuckets.get(i);
+        if (bucket == null) {
+            bucket = new LinkedHashSet<>();
+            yearBuckets.set(i, bucket);
+        }
+        return bucket;
+    }
+
+    private static <K> void removePosting(Map<K, Set<Employee>> index, K key, Employee employee) {
+        Set<Employee> postings = index.get(key);
+        if (postings != null && postings.remove(employee) && postings.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static String key(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,75 @@
+package jebi.hendardi.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import jebi.hendardi.entity.Employee;
+
+/**
+ * Case-sensitive trigram index over one text field, answering
+ * {@code String.contains} queries. A pattern of three or more characters only
+ * has to be verified against the employees posted under its rarest trigram.
+ */
+class TrigramIndex {
+    private final Function<Employee, String> field;
+    private final Map<Long, Set<Employee>> postings = new HashMap<>();
+
+    TrigramIndex(Function<Employee, String> field) {
+        this.field = field;
+    }
+
+    void add(Employee employee) {
+        String text = field.apply(employee);
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            postings.computeIfAbsent(trigram(text, i), k -> new LinkedHashSet<>()).add(employee);
+        }
+    }
+
+    void remove(Employee employee) {
+        String text = field.apply(employee);
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            Long key = trigram(text, i);
+            Set<Employee> set = postings.get(key);
+            if (set != null && set.remove(employee) && set.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Returns the employees whose field contains the pattern, in the order of
+     * {@code all}. Patterns shorter than a trigram fall back to scanning it.
+     */
+    List<Employee> search(String pattern, Collection<Employee> all) {
+        Collection<Employee> candidates = all;
+        if (pattern.length() >= 3) {
+            for (int i = 0; i + 3 <= pattern.length(); i++) {
+                Set<Employee> set = postings.get(trigram(pattern, i));
+                if (set == null) {
+                    return new ArrayList<>();
+                }
+                if (set.size() < candidates.size()) {
+                    candidates = set;
+                }
+            }
+        }
+
+        List<Employee> result = new ArrayList<>();
+        for (Employee employee : candidates) {
+            if (field.apply(employee).contains(pattern)) {
+                result.add(employee);
+            }
+        }
+        return result;
+    }
+
+    private static Long trigram(String text, int from) {
+        return ((long) text.charAt(from) << 32) | ((long) text.charAt(from + 1) << 16) | text.charAt(from + 2);
+    }
+}
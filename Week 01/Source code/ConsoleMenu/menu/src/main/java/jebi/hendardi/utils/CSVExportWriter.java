@@ -0,0 +1,129 @@
+package jebi.hendardi.utils;
+
+import jebi.hendardi.entity.Employee;
+
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes employees as UTF-8 CSV by encoding each row straight into one
+ * reusable byte buffer, which goes to the file in large batches. No per-row
+ * Strings or charset encoders are involved.
+ */
+public class CSVExportWriter implements Closeable {
+    public static final String HEADER = "ID,Name,DateOfBirth,Address,Department\n";
+    static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+
+    private final WritableByteChannel out;
+    private byte[] buffer;
+    private int count;
+
+    public CSVExportWriter(WritableByteChannel out, int bufferSize) {
+        this.out = out;
+        this.buffer = new byte[bufferSize];
+    }
+
+    /**
+     * Opens a writer on the file, gzip-compressing the output when the path
+     * ends in ".gz".
+     */
+    public static CSVExportWriter open(String filePath) throws IOException {
+        if (filePath.endsWith(".gz")) {
+            GZIPOutputStream gzip = new GZIPOutputStream(new FileOutputStream(filePath), 64 * 1024);
+            return new CSVExportWriter(Channels.newChannel(gzip), DEFAULT_BUFFER_SIZE);
+        }
+        FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        return new CSVExportWriter(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    public void writeHeader() throws IOException {
+        writeText(HEADER);
+    }
+
+    public void write(Employee employee) throws IOException {
+        writeText(employee.getId());
+        writeByte(',');
+        writeText(employee.getName());
+        writeByte(',');
+        ensureCapacity(16);
+        count = DateUtils.formatEpochDay(employee.getDateOfBirth().toEpochDay(), buffer, count);
+        writeByte(',');
+        writeText(employee.getAddress());
+        writeByte(',');
+        writeText(employee.getDepartment());
+        writeByte('\n');
+    }
+
+    public void flush() throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(buffer, 0, count);
+        while (bytes.hasRemaining()) {
+            out.write(bytes);
+        }
+        count = 0;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void writeByte(int b) throws IOException {
+        if (count == buffer.length) {
+            flush();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    private void writeText(String text) throws IOException {
+        int length = text.length();
+        // Worst case three bytes per UTF-16 unit
+        ensureCapacity(length * 3);
+        byte[] buf = buffer;
+        int n = count;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c < 0x80) {
+                buf[n++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[n++] = (byte) (0xC0 | c >> 6);
+                buf[n++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(text.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, text.charAt(++i));
+                buf[n++] = (byte) (0xF0 | cp >> 18);
+                buf[n++] = (byte) (0x80 | cp >> 12 & 0x3F);
+                buf[n++] = (byte) (0x80 | cp >> 6 & 0x3F);
+                buf[n++] = (byte) (0x80 | cp & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate, replaced the same way String.getBytes does
+                buf[n++] = '?';
+            } else {
+                buf[n++] = (byte) (0xE0 | c >> 12);
+                buf[n++] = (byte) (0x80 | c >> 6 & 0x3F);
+                buf[n++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        count = n;
+    }
+
+    private void ensureCapacity(int needed) throws IOException {
+        if (buffer.length - count < needed) {
+            flush();
+            if (buffer.length < needed) {
+                buffer = new byte[needed];
+            }
+        }
+    }
+}
@@ -1,13 +1,27 @@
 package jebi.hendardi.utils;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 
+/**
+ * Parsing and formatting of "d/M/yyyy" dates. Plain dates (one or two digit
+ * day and month, four digit year, valid calendar day) take a hand-written fast
+ * path; anything else goes through {@link DateTimeFormatter}, which keeps the
+ * original validation and error behaviour.
+ */
 public class DateUtils {
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("d/M/yyyy");
 
+    // Days between 0000-03-01 and 1970-01-01
+    private static final int DAYS_0000_TO_1970 = 719468;
+
     public static LocalDate parseDate(String dateStr) {
+        int ymd = parseFields(dateStr, 0, dateStr.length());
+        if (ymd >= 0) {
+            return LocalDate.of(year(ymd), month(ymd), day(ymd));
+        }
         try {
             return LocalDate.parse(dateStr, DATE_FORMATTER);
         } catch (DateTimeParseException e) {
@@ -15,4 +29,194 @@ public class DateUtils {
             throw e;
         }
     }
+
+    /**
+     * Parses the UTF-8 bytes in [from, to) without building a String first.
+     */
+    public static LocalDate parseDate(byte[] bytes, int from, int to) {
+        int ymd = parseFields(bytes, from, to);
+        if (ymd >= 0) {
+            return LocalDate.of(year(ymd), month(ymd), day(ymd));
+        }
+        return parseDate(new String(bytes, from, to - from, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses the UTF-8 bytes in [from, to) straight to an epoch day.
+     */
+    public static long parseEpochDay(byte[] bytes, int from, int to) {
+        int ymd = parseFields(bytes, from, to);
+        if (ymd >= 0) {
+            return toEpochDay(year(ymd), month(ymd), day(ymd));
+        }
+        return parseDate(new String(bytes, from, to - from, StandardCharsets.UTF_8)).toEpochDay();
+    }
+
+    public static String formatDate(LocalDate date) {
+        return appendDate(new StringBuilder(10), date).toString();
+    }
+
+    public static StringBuilder appendDate(StringBuilder sb, LocalDate date) {
+        int year = date.getYear();
+        if (year < 1 || year > 9999) {
+            return sb.append(date.format(DATE_FORMATTER));
+        }
+        sb.append(date.getDayOfMonth()).append('/').append(date.getMonthValue()).append('/');
+        for (int pad = 1000; pad > 1 && year < pad; pad /= 10) {
+            sb.append('0');
+        }
+        return sb.append(year);
+    }
+
+    /**
+     * Writes the date as ASCII into dst at offset, which needs room for at
+     * least 10 bytes for years 1-9999.
+     *
+     * @return the offset after the last byte written
+     */
+    public static int formatEpochDay(long epochDay, byte[] dst, int offset) {
+        long z = epochDay + DAYS_0000_TO_1970;
+        long era = (z >= 0 ? z : z - 146096) / 146097;
+        long doe = z - era * 146097;
+        long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        long mp = (5 * doy + 2) / 153;
+        int day = (int) (doy - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        long year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+
+        if (year < 1 || year > 9999) {
+            byte[] text = LocalDate.ofEpochDay(epochDay).format(DATE_FORMATTER).getBytes(StandardCharsets.US_ASCII);
+            System.arraycopy(text, 0, dst, offset, text.length);
+            return offset + text.length;
+        }
+        offset = writeSmall(day, dst, offset);
+        dst[offset++] = '/';
+        offset = writeSmall(month, dst, offset);
+        dst[offset++] = '/';
+        int y = (int) year;
+        dst[offset++] = (byte) ('0' + y / 1000);
+        dst[offset++] = (byte) ('0' + y / 100 % 10);
+        dst[offset++] = (byte) ('0' + y / 10 % 10);
+        dst[offset++] = (byte) ('0' + y % 10);
+        return offset;
+    }
+
+    public static long toEpochDay(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = (y >= 0 ? y : y - 399) / 400;
+        long yoe = y - era * 400;
+        long doy = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097 + doe - DAYS_0000_TO_1970;
+    }
+
+    private static int writeSmall(int value, byte[] dst, int offset) {
+        if (value >= 10) {
+            dst[offset++] = (byte) ('0' + value / 10);
+        }
+        dst[offset++] = (byte) ('0' + value % 10);
+        return offset;
+    }
+
+    // Returns year << 9 | month << 5 | day, or -1 when the fast path does not apply
+    private static int parseFields(CharSequence s, int from, int to) {
+        int i = from;
+        int day = 0;
+        int digits = 0;
+        for (; i < to && s.charAt(i) != '/'; i++, digits++) {
+            int c = s.charAt(i) - '0';
+            if (c < 0 || c > 9 || digits == 2) {
+                return -1;
+            }
+            day = day * 10 + c;
+        }
+        if (digits == 0 || i++ == to) {
+            return -1;
+        }
+        int month = 0;
+        for (digits = 0; i < to && s.charAt(i) != '/'; i++, digits++) {
+            int c = s.charAt(i) - '0';
+            if (c < 0 || c > 9 || digits == 2) {
+                return -1;
+            }
+            month = month * 10 + c;
+        }
+        if (digits == 0 || i++ == to || to - i != 4) {
+            return -1;
+        }
+        int year = 0;
+        for (; i < to; i++) {
+            int c = s.charAt(i) - '0';
+            if (c < 0 || c > 9) {
+                return -1;
+            }
+            year = year * 10 + c;
+        }
+        return pack(year, month, day);
+    }
+
+    private static int parseFields(byte[] b, int from, int to) {
+        int i = from;
+        int day = 0;
+        int digits = 0;
+        for (; i < to && b[i] != '/'; i++, digits++) {
+            int c = b[i] - '0';
+            if (c < 0 || c > 9 || digits == 2) {
+                return -1;
+            }
+            day = day * 10 + c;
+        }
+        if (digits == 0 || i++ == to) {
+            return -1;
+        }
+        int month = 0;
+        for (digits = 0; i < to && b[i] != '/'; i++, digits++) {
+            int c = b[i] - '0';
+            if (c < 0 || c > 9 || digits == 2) {
+                return -1;
+            }
+            month = month * 10 + c;
+        }
+        if (digits == 0 || i++ == to || to - i != 4) {
+            return -1;
+        }
+        int year = 0;
+        for (; i < to; i++) {
+            int c = b[i] - '0';
+            if (c < 0 || c > 9) {
+                return -1;
+            }
+            year = year * 10 + c;
+        }
+        return pack(year, month, day);
+    }
+
+    private static int pack(int year, int month, int day) {
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            // Out-of-range days are clamped or rejected by the formatter
+            return -1;
+        }
+        return year << 9 | month << 5 | day;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        if (month == 2) {
+            boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+            return leap ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    private static int year(int ymd) {
+        return ymd >>> 9;
+    }
+
+    private static int month(int ymd) {
+        return ymd >>> 5 & 0xF;
+    }
+
+    private static int day(int ymd) {
+        return ymd & 0x1F;
+    }
 }
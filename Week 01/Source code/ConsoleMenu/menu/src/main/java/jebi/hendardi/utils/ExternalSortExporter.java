@@ -0,0 +1,157 @@
+package jebi.hendardi.utils;
+
+import jebi.hendardi.entity.Employee;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Predicate;
+
+/**
+ * Filters a stream of employees and exports the matches sorted by date of
+ * birth in bounded memory. Matches are buffered until the memory budget is
+ * reached, then sorted and spilled to a temporary run file; the runs are
+ * k-way merged while the output is written.
+ */
+public class ExternalSortExporter {
+    private static final Comparator<Employee> BY_DATE_OF_BIRTH = Comparator.comparing(Employee::getDateOfBirth);
+    // Rough heap cost of an Employee, its LocalDate and four Strings, excluding characters
+    private static final long EMPLOYEE_OVERHEAD = 200;
+    private static final long RUN_WINDOW_SIZE = 1024 * 1024;
+
+    private final long memoryBudget;
+    private final Path tempDir;
+
+    public ExternalSortExporter(long memoryBudget) {
+        this(memoryBudget, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    public ExternalSortExporter(long memoryBudget, Path tempDir) {
+        this.memoryBudget = memoryBudget;
+        this.tempDir = tempDir;
+    }
+
+    /**
+     * Budget of a quarter of the maximum heap.
+     */
+    public static ExternalSortExporter withDefaultBudget() {
+        return new ExternalSortExporter(Runtime.getRuntime().maxMemory() / 4);
+    }
+
+    /**
+     * @return the number of employees written
+     */
+    public long export(Iterator<Employee> source, Predicate<? super Employee> filter, String outputPath)
+            throws IOException {
+        List<Path> runs = new ArrayList<>();
+        try {
+            List<Employee> buffer = new ArrayList<>();
+            long bufferedBytes = 0;
+            long count = 0;
+            while (source.hasNext()) {
+                Employee employee = source.next();
+                if (!filter.test(employee)) {
+                    continue;
+                }
+                buffer.add(employee);
+                count++;
+                bufferedBytes += estimateSize(employee);
+                if (bufferedBytes >= memoryBudget) {
+                    runs.add(spill(buffer));
+                    buffer.clear();
+                    bufferedBytes = 0;
+                }
+            }
+
+            if (runs.isEmpty()) {
+                buffer.sort(BY_DATE_OF_BIRTH);
+                try (CSVExportWriter writer = CSVExportWriter.open(outputPath)) {
+                    writer.writeHeader();
+                    for (Employee employee : buffer) {
+                        writer.write(employee);
+                    }
+                }
+                return count;
+            }
+            if (!buffer.isEmpty()) {
+                runs.add(spill(buffer));
+                buffer.clear();
+            }
+            merge(runs, outputPath);
+            return count;
+        } finally {
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+        }
+    }
+
+    private Path spill(List<Employee> buffer) throws IOException {
+        buffer.sort(BY_DATE_OF_BIRTH);
+        Path run = Files.createTempFile(tempDir, "employees-run", ".csv");
+        try (CSVExportWriter writer = CSVExportWriter.open(run.toString())) {
+            for (Employee employee : buffer) {
+                writer.write(employee);
+            }
+        }
+        return run;
+    }
+
+    private void merge(List<Path> runs, String outputPath) throws IOException {
+        // Ties go to the earlier run, which keeps the sort stable across runs
+        PriorityQueue<RunCursor> heads = new PriorityQueue<>(
+                Comparator.comparing((RunCursor c) -> c.head.getDateOfBirth()).thenComparingInt(c -> c.index));
+        List<FileChannel> channels = new ArrayList<>();
+        try (CSVExportWriter writer = CSVExportWriter.open(outputPath)) {
+            for (int i = 0; i < runs.size(); i++) {
+                FileChannel channel = FileChannel.open(runs.get(i), StandardOpenOption.READ);
+                channels.add(channel);
+                RunCursor cursor = new RunCursor(i,
+                        new MappedCSVReader(channel, 0, channel.size(), RUN_WINDOW_SIZE, false));
+                if (cursor.advance()) {
+                    heads.add(cursor);
+                }
+            }
+
+            writer.writeHeader();
+            while (!heads.isEmpty()) {
+                RunCursor cursor = heads.poll();
+                writer.write(cursor.head);
+                if (cursor.advance()) {
+                    heads.add(cursor);
+                }
+            }
+        } finally {
+            for (FileChannel channel : channels) {
+                channel.close();
+            }
+        }
+    }
+
+    private static long estimateSize(Employee employee) {
+        return EMPLOYEE_OVERHEAD + employee.getId().length() + employee.getName().length()
+                + employee.getAddress().length() + employee.getDepartment().length();
+    }
+
+    private static final class RunCursor {
+        private final int index;
+        private final MappedCSVReader reader;
+        private Employee head;
+
+        RunCursor(int index, MappedCSVReader reader) {
+            this.index = index;
+            this.reader = reader;
+        }
+
+        boolean advance() throws IOException {
+            return reader.next(employee -> head = employee);
+        }
+    }
+}
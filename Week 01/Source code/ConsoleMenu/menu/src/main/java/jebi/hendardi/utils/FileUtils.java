@@ -6,15 +6,41 @@ import jebi.hendardi.entity.Employee;
 
 import java.io.BufferedReader;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 public class FileUtils {
+    // Chunks smaller than this are not worth a task of their own
+    private static final long MIN_CHUNK_SIZE = 1024 * 1024;
 
     public static List<Employee> readEmployeesFromCSVManual(String filePath) {
+        try {
+            return loadEmployeesFromCSVManual(filePath);
+        } catch (IOException e) {
+            System.out.println("Error reading CSV file: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Like readEmployeesFromCSVManual, but reports failures to the caller
+     * instead of printing them and returning an empty list.
+     */
+    public static List<Employee> loadEmployeesFromCSVManual(String filePath) throws IOException {
         List<Employee> employees = new ArrayList<>();
         try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
             String line;
@@ -34,13 +60,20 @@ public class FileUtils {
                     employees.add(new Employee(id, name, dob, address, department));
                 }
             }
-        } catch (IOException e) {
-            System.out.println("Error reading CSV file: " + e.getMessage());
         }
         return employees;
     }
 
     public static List<Employee> readEmployeesFromCSVOpenCSV(String filePath) {
+        try {
+            return loadEmployeesFromCSVOpenCSV(filePath);
+        } catch (IOException e) {
+            System.out.println("Error reading CSV file with OpenCSV: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    public static List<Employee> loadEmployeesFromCSVOpenCSV(String filePath) throws IOException {
         List<Employee> employees = new ArrayList<>();
         try (CSVReader reader = new CSVReader(new FileReader(filePath))) {
             String[] values;
@@ -59,21 +92,133 @@ public class FileUtils {
                     employees.add(new Employee(id, name, dob, address, department));
                 }
             }
-        } catch (IOException | CsvValidationException e) {
-            System.out.println("Error reading CSV file with OpenCSV: " + e.getMessage());
+        } catch (CsvValidationException e) {
+            throw new IOException(e.getMessage(), e);
         }
         return employees;
     }
 
-    public static void writeEmployeesToCSV(List<Employee> employees, String filePath) {
-        try (FileWriter writer = new FileWriter(filePath)) {
-            writer.append("ID,Name,DateOfBirth,Address,Department\n");
-            for (Employee employee : employees) {
-                writer.append(employee.toCSV()).append("\n");
+    public static long readEmployeesFromCSVMapped(String filePath, Consumer<Employee> consumer) {
+        try {
+            return loadEmployeesFromCSVMapped(filePath, consumer);
+        } catch (IOException e) {
+            System.out.println("Error reading CSV file: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    public static long loadEmployeesFromCSVMapped(String filePath, Consumer<Employee> consumer) throws IOException {
+        try (MappedCSVReader reader = MappedCSVReader.open(filePath)) {
+            return reader.forEachRemaining(consumer);
+        }
+    }
+
+    public static List<Employee> readEmployeesFromCSVParallel(String filePath) {
+        return readEmployeesFromCSVParallel(filePath, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Splits the file into line-aligned byte ranges, parses them concurrently
+     * on the given pool and concatenates the results in file order.
+     */
+    public static List<Employee> readEmployeesFromCSVParallel(String filePath, ForkJoinPool pool) {
+        try {
+            return loadEmployeesFromCSVParallel(filePath, pool);
+        } catch (InterruptedIOException e) {
+            System.out.println("CSV import interrupted.");
+        } catch (IOException e) {
+            System.out.println("Error reading CSV file: " + e.getMessage());
+        }
+        return new ArrayList<>();
+    }
+
+    public static List<Employee> loadEmployeesFromCSVParallel(String filePath) throws IOException {
+        return loadEmployeesFromCSVParallel(filePath, ForkJoinPool.commonPool());
+    }
+
+    public static List<Employee> loadEmployeesFromCSVParallel(String filePath, ForkJoinPool pool) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            long size = channel.size();
+            long dataStart = MappedCSVReader.nextLineStart(channel, 1);
+            long chunkCount = Math.max(1, Math.min(pool.getParallelism() * 4L, (size - dataStart) / MIN_CHUNK_SIZE));
+            long chunkSize = (size - dataStart) / chunkCount;
+
+            List<Callable<List<Employee>>> tasks = new ArrayList<>();
+            long start = dataStart;
+            for (long i = 1; i <= chunkCount && start < size; i++) {
+                long end = i == chunkCount ? size : MappedCSVReader.nextLineStart(channel, dataStart + i * chunkSize);
+                if (end <= start) {
+                    continue;
+                }
+                long chunkStart = start;
+                tasks.add(() -> {
+                    List<Employee> chunk = new ArrayList<>();
+                    new MappedCSVReader(channel, chunkStart, end).forEachRemaining(chunk::add);
+                    return chunk;
+                });
+                start = end;
+            }
+
+            List<List<Employee>> chunks = new ArrayList<>(tasks.size());
+            int total = 0;
+            for (Future<List<Employee>> future : pool.invokeAll(tasks)) {
+                List<Employee> chunk = future.get();
+                chunks.add(chunk);
+                total += chunk.size();
+            }
+            List<Employee> employees = new ArrayList<>(total);
+            chunks.forEach(employees::addAll);
+            return employees;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
             }
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IOException(cause.getMessage(), cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("CSV import interrupted.");
+        }
+    }
+
+    public static Stream<Employee> streamEmployeesFromCSV(String filePath) throws IOException {
+        return MappedCSVReader.open(filePath).stream();
+    }
+
+    public static void writeEmployeesToCSV(List<Employee> employees, String filePath) {
+        try {
+            saveEmployeesToCSV(employees, filePath);
             System.out.println("Employees exported to CSV successfully.");
         } catch (IOException e) {
             System.out.println("Error writing to CSV file: " + e.getMessage());
         }
     }
+
+    public static void saveEmployeesToCSV(List<Employee> employees, String filePath) throws IOException {
+        try (CSVExportWriter writer = CSVExportWriter.open(filePath)) {
+            writer.writeHeader();
+            for (Employee employee : employees) {
+                writer.write(employee);
+            }
+        }
+    }
+
+    /**
+     * Streams the input file through the filter and writes the matches sorted
+     * by date of birth, spilling sorted runs to disk when they outgrow the heap.
+     */
+    public static void exportSortedFromCSV(String inputPath, Predicate<? super Employee> filter, String outputPath) {
+        try (Stream<Employee> source = streamEmployeesFromCSV(inputPath)) {
+            long count = ExternalSortExporter.withDefaultBudget().export(source.iterator(), filter, outputPath);
+            System.out.println(count + " employee(s) exported to CSV successfully.");
+        } catch (IOException | UncheckedIOException e) {
+            System.out.println("Error exporting CSV file: " + e.getMessage());
+        }
+    }
 }
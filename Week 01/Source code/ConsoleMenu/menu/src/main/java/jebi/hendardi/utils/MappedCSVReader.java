@@ -0,0 +1,233 @@
+package jebi.hendardi.utils;
+
+import jebi.hendardi.entity.Employee;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streams employees out of a CSV file through a sliding memory-mapped window.
+ * Rows are located by scanning bytes for separators, so no line String or
+ * split array is created; only the five field values of each row are decoded.
+ */
+public class MappedCSVReader implements Closeable {
+    static final int FIELD_COUNT = 5;
+    static final long DEFAULT_WINDOW_SIZE = 64L * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final boolean ownsChannel;
+    private final long end;
+    private long windowSize;
+
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long position;
+
+    private byte[] line = new byte[256];
+    private final int[] commas = new int[FIELD_COUNT - 1];
+
+    /**
+     * Reads the rows in [start, end) of the channel. Both offsets must be at a
+     * line start (or at the end of the file); the channel is left open.
+     */
+    public MappedCSVReader(FileChannel channel, long start, long end) {
+        this(channel, start, end, DEFAULT_WINDOW_SIZE, false);
+    }
+
+    MappedCSVReader(FileChannel channel, long start, long end, long windowSize, boolean ownsChannel) {
+        this.channel = channel;
+        this.ownsChannel = ownsChannel;
+        this.position = start;
+        this.end = end;
+        this.windowSize = windowSize;
+        this.windowStart = start;
+    }
+
+    /**
+     * Opens a file for reading and skips its header line.
+     */
+    public static MappedCSVReader open(String filePath) throws IOException {
+        FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ);
+        try {
+            MappedCSVReader reader = new MappedCSVReader(channel, 0, channel.size(), DEFAULT_WINDOW_SIZE, true);
+            reader.skipLine();
+            return reader;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the offset of the first line starting at or after {@code position},
+     * or the file size when there is none.
+     */
+    public static long nextLineStart(FileChannel channel, long position) throws IOException {
+        long size = channel.size();
+        if (position <= 0) {
+            return 0;
+        }
+        MappedCSVReader reader = new MappedCSVReader(channel, position - 1, size, 64 * 1024, false);
+        reader.skipLine();
+        return reader.position;
+    }
+
+    /**
+     * Parses the next valid row and hands it to the consumer.
+     *
+     * @return false once the end of the range is reached
+     */
+    public boolean next(Consumer<? super Employee> consumer) throws IOException {
+        while (position < end) {
+            long lineEnd = findLineEnd();
+            int length = (int) (lineEnd - position);
+            long nextPosition = lineEnd < end ? lineEnd + 1 : end;
+            Employee employee = parseLine(length);
+            position = nextPosition;
+            if (employee != null) {
+                consumer.accept(employee);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Streams every remaining row to the consumer.
+     *
+     * @return the number of rows delivered
+     */
+    public long forEachRemaining(Consumer<? super Employee> consumer) throws IOException {
+        long count = 0;
+        while (next(consumer)) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns a lazy, ordered stream of the remaining rows. Closing the stream
+     * closes this reader.
+     */
+    public Stream<Employee> stream() {
+        Spliterator<Employee> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Employee> action) {
+                try {
+                    return next(action);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        if (ownsChannel) {
+            channel.close();
+        }
+    }
+
+    private void skipLine() throws IOException {
+        if (position < end) {
+            long lineEnd = findLineEnd();
+            position = lineEnd < end ? lineEnd + 1 : end;
+        }
+    }
+
+    // Returns the file offset of the '\n' ending the current line, or end.
+    private long findLineEnd() throws IOException {
+        ensureMapped(position);
+        while (true) {
+            int from = (int) (position - windowStart);
+            int limit = window.limit();
+            for (int i = from; i < limit; i++) {
+                if (window.get(i) == '\n') {
+                    return windowStart + i;
+                }
+            }
+            long windowEnd = windowStart + limit;
+            if (windowEnd >= end) {
+                return end;
+            }
+            // The line crosses the window; remap from its start, growing the
+            // window if a single line is longer than it.
+            if (windowStart == position) {
+                windowSize = Math.min(windowSize * 2, Integer.MAX_VALUE);
+            }
+            map(position);
+        }
+    }
+
+    private void ensureMapped(long offset) throws IOException {
+        if (window == null || offset < windowStart || offset >= windowStart + window.limit()) {
+            map(offset);
+        }
+    }
+
+    private void map(long offset) throws IOException {
+        long length = Math.min(windowSize, end - offset);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        windowStart = offset;
+    }
+
+    private Employee parseLine(int length) {
+        if (length > 0 && window.get((int) (position - windowStart) + length - 1) == '\r') {
+            length--;
+        }
+        if (length == 0) {
+            return null;
+        }
+        if (line.length < length) {
+            line = new byte[Math.max(length, line.length * 2)];
+        }
+        window.get((int) (position - windowStart), line, 0, length);
+
+        int found = 0;
+        for (int i = 0; i < length; i++) {
+            if (line[i] == ',') {
+                if (found == commas.length) {
+                    return null;
+                }
+                commas[found++] = i;
+            }
+        }
+        // Same shape the manual reader accepts: five fields, the last one non-empty.
+        if (found != commas.length || commas[found - 1] == length - 1) {
+            return null;
+        }
+
+        String id = field(0, commas[0]);
+        String name = field(commas[0] + 1, commas[1]);
+        LocalDate dob = DateUtils.parseDate(line, commas[1] + 1, commas[2]);
+        String address = field(commas[2] + 1, commas[3]);
+        String department = field(commas[3] + 1, length);
+        return new Employee(id, name, dob, address, department);
+    }
+
+    private String field(int from, int to) {
+        return new String(line, from, to - from, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,61 @@
+package jebi.hendardi.repository;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import jebi.hendardi.entity.Employee;
+
+/**
+ * Runs the repository checks against the columnar store.
+ */
+public class ColumnarEmployeeRepositoryTest extends IndexedEmployeeRepositoryTest
+{
+    protected EmployeeRepository createRepository()
+    {
+        return new ColumnarEmployeeRepository();
+    }
+
+    public void testSortedByDateOfBirthIsStable()
+    {
+        EmployeeRepository repository = createRepository();
+        Employee first = new Employee( "E1", "First", LocalDate.of( 1999, 1, 1 ), "A", "WEB" );
+        Employee second = new Employee( "E2", "Second", LocalDate.of( 1960, 6, 1 ), "B", "WEB" );
+        Employee third = new Employee( "E3", "Third", LocalDate.of( 1999, 1, 1 ), "C", "WEB" );
+        repository.saveAll( Arrays.asList( first, second, third ) );
+
+        List<Employee> sorted = repository.sortedByDateOfBirth( repository.findByDepartment( "web" ) );
+        assertEquals( Arrays.asList( second, first, third ), sorted );
+    }
+
+    public void testGrowsPastInitialCapacity()
+    {
+        EmployeeRepository repository = createRepository();
+        for ( int i = 0; i < 5000; i++ )
+        {
+            repository.save( new Employee( "ID_" + i, "Name " + i, LocalDate.of( 1980 + i % 20, 1, 1 ), "Street", "D" + i % 7 ) );
+        }
+        repository.save( new Employee( "id_42", "Renamed", LocalDate.of( 1980, 1, 1 ), "Street", "D0" ) );
+
+        assertEquals( 5000, repository.size() );
+        assertEquals( "Renamed", repository.findById( "ID_42" ).get().getName() );
+        assertEquals( 250, repository.findByBirthYear( 1990 ).size() );
+        assertEquals( 1, repository.findByNameContaining( "Name 4999" ).size() );
+    }
+
+    public void testRejectsDateBeyondEpochDayColumn()
+    {
+        EmployeeRepository repository = createRepository();
+        try
+        {
+            repository.save( new Employee( "E1", "Far", LocalDate.MAX, "A", "WEB" ) );
+            fail( "Expected IllegalArgumentException" );
+        }
+        catch ( IllegalArgumentException expected )
+        {
+            // Nothing stored
+        }
+        assertEquals( 0, repository.size() );
+        assertTrue( repository.findAll().isEmpty() );
+    }
+}
@@ -0,0 +1,72 @@
+package jebi.hendardi.repository;
+
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.Arrays;
+import java.util.Collections;
+
+import jebi.hendardi.entity.Employee;
+import junit.framework.TestCase;
+
+/**
+ * Checks that upserts keep the secondary indexes in sync.
+ */
+public class IndexedEmployeeRepositoryTest extends TestCase
+{
+    private final Employee alice = new Employee( "ABC_1", "Alice", LocalDate.of( 1990, 1, 2 ), "Main St", "WEB" );
+    private final Employee bob = new Employee( "ABC_2", "Bob", LocalDate.of( 1985, 3, 4 ), "Side St", "System" );
+
+    protected EmployeeRepository createRepository()
+    {
+        return new IndexedEmployeeRepository();
+    }
+
+    public void testFindByIdIgnoresCase()
+    {
+        EmployeeRepository repository = createRepository();
+        repository.save( alice );
+
+        assertEquals( alice, repository.findById( "abc_1" ).orElse( null ) );
+        assertFalse( repository.findById( "ABC_2" ).isPresent() );
+    }
+
+    public void testFilters()
+    {
+        EmployeeRepository repository = createRepository();
+        repository.saveAll( Arrays.asList( alice, bob ) );
+
+        assertEquals( Arrays.asList( alice, bob ), repository.findAll() );
+        assertEquals( Collections.singletonList( bob ), repository.findByDepartment( "SYSTEM" ) );
+        assertEquals( Collections.singletonList( alice ), repository.findByBirthYear( 1990 ) );
+        assertEquals( Collections.singletonList( bob ), repository.findByNameContaining( "ob" ) );
+        assertEquals( Arrays.asList( alice, bob ), repository.findByIdContaining( "ABC_" ) );
+        assertTrue( repository.findByNameContaining( "alice" ).isEmpty() );
+    }
+
+    public void testOverwriteReplacesIndexEntries()
+    {
+        EmployeeRepository repository = createRepository();
+        repository.saveAll( Arrays.asList( alice, bob ) );
+        Employee moved = new Employee( "abc_1", "Alicia", LocalDate.of( 2001, 5, 6 ), "New St", "MOBILE" );
+
+        assertEquals( alice, repository.save( moved ) );
+        assertEquals( 2, repository.size() );
+        assertEquals( Arrays.asList( bob, moved ), repository.findAll() );
+        assertTrue( repository.findByDepartment( "WEB" ).isEmpty() );
+        assertTrue( repository.findByBirthYear( 1990 ).isEmpty() );
+        assertTrue( repository.findByNameContaining( "Alice" ).isEmpty() );
+        assertEquals( Collections.singletonList( moved ), repository.findByNameContaining( "Alicia" ) );
+        assertEquals( Collections.singletonList( moved ), repository.findByDepartment( "mobile" ) );
+    }
+
+    public void testBirthYearOutsideDateRange()
+    {
+        EmployeeRepository repository = createRepository();
+        repository.saveAll( Arrays.asList( alice, bob ) );
+
+        assertTrue( repository.findByBirthYear( 2000000000 ).isEmpty() );
+        assertTrue( repository.findByBirthYear( Integer.MIN_VALUE ).isEmpty() );
+        assertTrue( repository.findByBirthYear( Year.MAX_VALUE ).isEmpty() );
+        assertTrue( repository.findByBirthYear( Year.MIN_VALUE ).isEmpty() );
+    }
+}
@@ -0,0 +1,67 @@
+package jebi.hendardi.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import jebi.hendardi.entity.Employee;
+import junit.framework.TestCase;
+
+/**
+ * Checks the byte-level writer against Employee.toCSV.
+ */
+public class CSVExportWriterTest extends TestCase
+{
+    private final List<Employee> employees = Arrays.asList(
+            new Employee( "ABC_1", "Zoë Ärnlund € 😀", LocalDate.of( 1981, 10, 23 ), "6 Ronald Regan Court", "SYSTEM" ),
+            new Employee( "ABC_2", "Alf McTiernan", LocalDate.of( 1990, 12, 14 ), "9390 Utah Way", "WEB" ) );
+
+    private String expected()
+    {
+        StringBuilder sb = new StringBuilder( CSVExportWriter.HEADER );
+        for ( Employee employee : employees )
+        {
+            sb.append( employee.toCSV() ).append( '\n' );
+        }
+        return sb.toString();
+    }
+
+    public void testEncodesLikeToCSV() throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        // A tiny buffer forces flushes in the middle of rows
+        try ( CSVExportWriter writer = new CSVExportWriter( Channels.newChannel( bytes ), 8 ) )
+        {
+            writer.writeHeader();
+            for ( Employee employee : employees )
+            {
+                writer.write( employee );
+            }
+        }
+        assertEquals( expected(), new String( bytes.toByteArray(), StandardCharsets.UTF_8 ) );
+    }
+
+    public void testGzipOutput() throws IOException
+    {
+        File file = File.createTempFile( "employees", ".csv.gz" );
+        try
+        {
+            FileUtils.writeEmployeesToCSV( employees, file.getPath() );
+            try ( GZIPInputStream in = new GZIPInputStream( new FileInputStream( file ) ) )
+            {
+                assertEquals( expected(), new String( in.readAllBytes(), StandardCharsets.UTF_8 ) );
+            }
+        }
+        finally
+        {
+            file.delete();
+        }
+    }
+}
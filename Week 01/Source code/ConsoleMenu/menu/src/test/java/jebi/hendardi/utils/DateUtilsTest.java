@@ -0,0 +1,59 @@
+package jebi.hendardi.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import junit.framework.TestCase;
+
+/**
+ * Checks the hand-written date fast path against DateTimeFormatter.
+ */
+public class DateUtilsTest extends TestCase
+{
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern( "d/M/yyyy" );
+
+    public void testRoundTripMatchesFormatter()
+    {
+        for ( LocalDate date = LocalDate.of( 1896, 1, 1 ); date.getYear() < 2104; date = date.plusDays( 1 ) )
+        {
+            String text = date.format( FORMATTER );
+            byte[] bytes = ( "x," + text + ",y" ).getBytes( StandardCharsets.US_ASCII );
+            int end = bytes.length - 2;
+
+            assertEquals( text, DateUtils.formatDate( date ) );
+            assertEquals( date, DateUtils.parseDate( text ) );
+            assertEquals( date, DateUtils.parseDate( bytes, 2, end ) );
+            assertEquals( date.toEpochDay(), DateUtils.parseEpochDay( bytes, 2, end ) );
+
+            byte[] out = new byte[10];
+            int length = DateUtils.formatEpochDay( date.toEpochDay(), out, 0 );
+            assertEquals( text, new String( out, 0, length, StandardCharsets.US_ASCII ) );
+        }
+    }
+
+    public void testFallsBackToFormatter()
+    {
+        assertEquals( LocalDate.of( 1985, 5, 30 ), DateUtils.parseDate( "30/05/1985" ) );
+        // The formatter's smart resolver clamps the day to the end of the month
+        assertEquals( LocalDate.of( 2021, 2, 28 ), DateUtils.parseDate( "31/2/2021" ) );
+        assertEquals( "1/1/0099", DateUtils.formatDate( LocalDate.of( 99, 1, 1 ) ) );
+    }
+
+    public void testRejectsMalformedDates()
+    {
+        String[] invalid = { "", "1/1/90", "32/1/1990", "1/13/1990", "a/1/1990", "1-1-1990" };
+        for ( String text : invalid )
+        {
+            try
+            {
+                DateUtils.parseDate( text );
+                fail( "Expected failure for " + text );
+            }
+            catch ( DateTimeParseException expected )
+            {
+            }
+        }
+    }
+}
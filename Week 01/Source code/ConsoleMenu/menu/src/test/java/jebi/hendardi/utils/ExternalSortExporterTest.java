@@ -0,0 +1,74 @@
+package jebi.hendardi.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import jebi.hendardi.entity.Employee;
+import jebi.hendardi.repository.EmployeeFilter;
+import jebi.hendardi.repository.IndexedEmployeeRepository;
+import junit.framework.TestCase;
+
+/**
+ * Checks that spilling and merging runs gives the same file as the in-memory export.
+ */
+public class ExternalSortExporterTest extends TestCase
+{
+    private final List<Employee> employees = new ArrayList<>();
+    private final List<File> files = new ArrayList<>();
+
+    protected void setUp()
+    {
+        Random random = new Random( 42 );
+        for ( int i = 0; i < 2000; i++ )
+        {
+            LocalDate dob = LocalDate.of( 1960 + random.nextInt( 40 ), 1 + random.nextInt( 12 ), 1 + random.nextInt( 28 ) );
+            employees.add( new Employee( "ABC_" + i, "Name " + i, dob, "Street " + i, i % 3 == 0 ? "WEB" : "SYSTEM" ) );
+        }
+    }
+
+    protected void tearDown()
+    {
+        files.forEach( File::delete );
+    }
+
+    private File tempFile() throws IOException
+    {
+        File file = File.createTempFile( "employees", ".csv" );
+        files.add( file );
+        return file;
+    }
+
+    private void assertSameAsInMemory( long budget, Predicate<Employee> filter ) throws IOException
+    {
+        IndexedEmployeeRepository repository = new IndexedEmployeeRepository();
+        repository.saveAll( employees );
+        File expected = tempFile();
+        List<Employee> matches = new ArrayList<>();
+        employees.stream().filter( filter ).forEach( matches::add );
+        FileUtils.writeEmployeesToCSV( repository.sortedByDateOfBirth( matches ), expected.getPath() );
+
+        File actual = tempFile();
+        long count = new ExternalSortExporter( budget, expected.getParentFile().toPath() )
+                .export( employees.iterator(), filter, actual.getPath() );
+
+        assertEquals( matches.size(), count );
+        assertEquals( Files.readString( expected.toPath() ), Files.readString( actual.toPath() ) );
+    }
+
+    public void testSingleRunInMemory() throws IOException
+    {
+        assertSameAsInMemory( Long.MAX_VALUE, EmployeeFilter.all() );
+    }
+
+    public void testSpillsAndMergesRuns() throws IOException
+    {
+        assertSameAsInMemory( 10_000, EmployeeFilter.all() );
+        assertSameAsInMemory( 10_000, EmployeeFilter.department( "web" ) );
+    }
+}
@@ -0,0 +1,104 @@
+package jebi.hendardi.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import jebi.hendardi.entity.Employee;
+import junit.framework.TestCase;
+
+/**
+ * Checks the memory-mapped reader against the manual reader.
+ */
+public class MappedCSVReaderTest extends TestCase
+{
+    private static final String CSV = "ID,Name,DateOfBirth,Address,Department\n"
+            + "ABC_1,Stesha Benyan,23/10/1981,6 Ronald Regan Court,SYSTEM\r\n"
+            + "broken,row\n"
+            + "\n"
+            + "ABC_2,Alf McTiernan,14/12/1990,9390 Utah Way,WEB\n"
+            + "ABC_3,Olympe Nevill,30/05/1985,5 Rowland Pass,";
+
+    private File file;
+
+    protected void setUp() throws IOException
+    {
+        file = File.createTempFile( "employees", ".csv" );
+        Files.write( file.toPath(), CSV.getBytes( StandardCharsets.UTF_8 ) );
+    }
+
+    protected void tearDown()
+    {
+        file.delete();
+    }
+
+    public void testMatchesManualReader()
+    {
+        List<Employee> expected = FileUtils.readEmployeesFromCSVManual( file.getPath() );
+        List<Employee> actual = new ArrayList<>();
+        long count = FileUtils.readEmployeesFromCSVMapped( file.getPath(), actual::add );
+
+        assertEquals( 2, count );
+        assertEquals( expected, actual );
+    }
+
+    public void testRowsSpanningSmallWindows() throws IOException
+    {
+        List<Employee> expected = FileUtils.readEmployeesFromCSVManual( file.getPath() );
+        List<Employee> actual = new ArrayList<>();
+        try ( FileChannel channel = FileChannel.open( file.toPath(), StandardOpenOption.READ ) )
+        {
+            long start = MappedCSVReader.nextLineStart( channel, 1 );
+            new MappedCSVReader( channel, start, channel.size(), 8, false ).forEachRemaining( actual::add );
+        }
+        assertEquals( expected, actual );
+    }
+
+    public void testDecodesUtf8() throws IOException
+    {
+        Files.write( file.toPath(), "ID,Name,DateOfBirth,Address,Department\nABC_9,Zo\u00eb \u00c4rnlund,1/2/1990,Utah Way,WEB\n"
+                .getBytes( StandardCharsets.UTF_8 ) );
+        List<Employee> actual = new ArrayList<>();
+        FileUtils.readEmployeesFromCSVMapped( file.getPath(), actual::add );
+        assertEquals( "Zo\u00eb \u00c4rnlund", actual.get( 0 ).getName() );
+    }
+
+    public void testParallelKeepsFileOrder() throws IOException
+    {
+        StringBuilder csv = new StringBuilder( "ID,Name,DateOfBirth,Address,Department\n" );
+        for ( int i = 0; i < 100000; i++ )
+        {
+            csv.append( "ABC_" ).append( i ).append( ",Name " ).append( i ).append( ",1/2/1990,Some Street,WEB\n" );
+        }
+        Files.write( file.toPath(), csv.toString().getBytes( StandardCharsets.UTF_8 ) );
+
+        List<Employee> expected = FileUtils.readEmployeesFromCSVManual( file.getPath() );
+        ForkJoinPool pool = new ForkJoinPool( 4 );
+        try
+        {
+            List<Employee> actual = FileUtils.readEmployeesFromCSVParallel( file.getPath(), pool );
+            assertEquals( 100000, actual.size() );
+            assertEquals( expected, actual );
+        }
+        finally
+        {
+            pool.shutdown();
+        }
+    }
+
+    public void testStream() throws IOException
+    {
+        try ( Stream<Employee> stream = FileUtils.streamEmployeesFromCSV( file.getPath() ) )
+        {
+            assertEquals( "ABC_1,ABC_2", stream.map( Employee::getId ).collect( Collectors.joining( "," ) ) );
+        }
+    }
+}
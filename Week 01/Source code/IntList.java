@@ -0,0 +1,134 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.IntConsumer;
+
+/**
+ * Growable list of primitive ints, an ArrayList<Integer> without the boxing.
+ * Not thread-safe. Week 02/Source Code/Assignment4 has its own copy, since these
+ * default-package directories are compiled separately.
+ */
+public class IntList {
+    private int[] elements;
+    private int size;
+
+    public IntList() {
+        this(10);
+    }
+
+    public IntList(int initialCapacity) {
+        elements = new int[Math.max(0, initialCapacity)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void add(int value) {
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        elements[size++] = value;
+    }
+
+    // Appends values[from, to)
+    public void addAll(int[] values, int from, int to) {
+        int count = to - from;
+        ensureCapacity(size + count);
+        System.arraycopy(values, from, elements, size, count);
+        size += count;
+    }
+
+    public void addAll(IntList other) {
+        addAll(other.elements, 0, other.size);
+    }
+
+    public int get(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    // Keeps the capacity, so a list reused across calls stops allocating
+    public void clear() {
+        size = 0;
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > elements.length) {
+            grow(capacity);
+        }
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    public IntList copy() {
+        IntList copy = new IntList(size);
+        copy.addAll(this);
+        return copy;
+    }
+
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            action.accept(elements[i]);
+        }
+    }
+
+    public PrimitiveIterator.OfInt iterator() {
+        return new PrimitiveIterator.OfInt() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public int nextInt() {
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return elements[next++];
+            }
+        };
+    }
+
+    // Boxed copy, for callers that need a List<Integer>
+    public List<Integer> toList() {
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(elements[i]);
+        }
+        return list;
+    }
+
+    // Same format as List.toString, e.g. [1, 5]
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(size * 4 + 2).append('[');
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(elements[i]);
+        }
+        return sb.append(']').toString();
+    }
+
+    private void grow(int minCapacity) {
+        if (minCapacity < 0) {
+            throw new OutOfMemoryError("IntList too large");
+        }
+        int capacity = Math.max(minCapacity, elements.length + (elements.length >> 1) + 1);
+        elements = Arrays.copyOf(elements, capacity < 0 ? minCapacity : capacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,132 @@
+import java.util.Arrays;
+
+/**
+ * Map from long keys to int values with open addressing and linear probing,
+ * so nothing is boxed. Keys and values sit in two parallel arrays; a slot is
+ * empty while its value is ABSENT, which is therefore not a storable value.
+ * The table doubles when it is three quarters full.
+ */
+public class LongIntHashMap {
+    public static final int ABSENT = Integer.MIN_VALUE;
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int shift; // 64 - log2(capacity): slot() keeps the hash's top log2(capacity) bits
+    private int size;
+    private int resizeAt;
+
+    public LongIntHashMap() {
+        this(16);
+    }
+
+    // Sized so that expectedSize entries fit without resizing
+    public LongIntHashMap(int expectedSize) {
+        long needed = Math.max(4, (long) Math.ceil(expectedSize / 0.75));
+        int capacity = (int) Math.min(MAX_CAPACITY, Long.highestOneBit(needed - 1) << 1);
+        allocate(capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int get(long key) {
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            if (values[slot] == ABSENT) {
+                return ABSENT;
+            }
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+    }
+
+    /**
+     * Returns the value stored for key, or stores value and returns ABSENT
+     * when there is none, with a single probe sequence.
+     */
+    public int getOrPut(long key, int value) {
+        checkValue(value);
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            if (values[slot] == ABSENT) {
+                insertAt(slot, key, value);
+                return ABSENT;
+            }
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+    }
+
+    // Returns the previous value, or ABSENT
+    public int put(long key, int value) {
+        checkValue(value);
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            if (values[slot] == ABSENT) {
+                insertAt(slot, key, value);
+                return ABSENT;
+            }
+            if (keys[slot] == key) {
+                int old = values[slot];
+                values[slot] = value;
+                return old;
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(values, ABSENT);
+        size = 0;
+    }
+
+    private void insertAt(int slot, long key, int value) {
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeAt) {
+            rehash();
+        }
+    }
+
+    private int slot(long key) {
+        // Fibonacci hashing: multiply, then take the top bits, so sequential
+        // prefix sums spread over the whole table
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    private void rehash() {
+        if (keys.length == MAX_CAPACITY) {
+            throw new IllegalStateException("LongIntHashMap is full");
+        }
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(keys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != ABSENT) {
+                int slot = slot(oldKeys[i]);
+                while (values[slot] != ABSENT) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, ABSENT);
+        mask = capacity - 1;
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        resizeAt = capacity == MAX_CAPACITY ? capacity - 1 : capacity / 4 * 3;
+    }
+
+    private static void checkValue(int value) {
+        if (value == ABSENT) {
+            throw new IllegalArgumentException("Integer.MIN_VALUE cannot be stored");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,63 @@
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Times the HashMap-based subarraySum against the primitive-map variants on
+ * inputs where every prefix sum is distinct, so each call scans the whole
+ * array and the map ends up holding one entry per element.
+ *
+ * Usage: java -Xmx4g SubarraySumBenchmark [size]   (default 100,000,000)
+ */
+public class SubarraySumBenchmark {
+    // The boxed HashMap needs far more heap than the primitive map; skip it above this
+    private static final int BASELINE_LIMIT = 20_000_000;
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 100_000_000;
+        Random random = new Random(42);
+
+        // Values 1..3: prefix sums strictly increase, nothing sums to zero
+        int[] positive = new int[size];
+        for (int i = 0; i < size; i++) {
+            positive[i] = 1 + random.nextInt(3);
+        }
+        IntList result = new IntList();
+
+        if (size <= BASELINE_LIMIT) {
+            long start = System.nanoTime();
+            List<Integer> boxed = Assignment4.subarraySum(positive);
+            report("subarraySum (HashMap<Integer,Integer>)", start, boxed.toString());
+        } else {
+            System.out.println("subarraySum (HashMap<Integer,Integer>): skipped above " + BASELINE_LIMIT + " elements");
+        }
+
+        long start = System.nanoTime();
+        Assignment4.findZeroSumSubarray(positive, result);
+        report("findZeroSumSubarray (LongIntHashMap)", start, result.toString());
+
+        // Sum of all but the first element: any match spans nearly the whole array
+        long k = -positive[0];
+        for (int value : positive) {
+            k += value;
+        }
+        start = System.nanoTime();
+        Assignment4.findSubarrayWithSum(positive, k, result);
+        report("findSubarrayWithSum k=" + k, start, result.toString());
+
+        // Every 1000th element cancels the ten before it: at least size / 1000 zero-sum subarrays
+        for (int i = 1000; i < size; i += 1000) {
+            int cancel = 0;
+            for (int j = i - 10; j < i; j++) {
+                cancel += positive[j];
+            }
+            positive[i] = -cancel;
+        }
+        start = System.nanoTime();
+        Assignment4.findAllZeroSumSubarrays(positive, result);
+        report("findAllZeroSumSubarrays", start, result.size() / 2 + " subarrays");
+    }
+
+    private static void report(String name, long start, String outcome) {
+        System.out.printf("%-42s %9.1f ms  %s%n", name, (System.nanoTime() - start) / 1e6, outcome);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,198 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * The k largest distinct values of a sequence, each with every index where
+ * it occurs, in ascending order.
+ *
+ * Works incrementally: feed values or whole chunks with accept and query at
+ * any time. Two summaries of adjacent ranges combine with merge, which is
+ * associative, so summaries of chunks can be computed independently and
+ * merged; compute does that on a fork-join pool.
+ */
+public class TopKIndexes {
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private final int k;
+    private final int[] values; // Descending, count of them in use
+    private final IntList[] indices;
+    private int count;
+    private int nextIndex; // Index given to the next value passed to accept(int)
+
+    public TopKIndexes(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive: " + k);
+        }
+        this.k = k;
+        this.values = new int[k];
+        this.indices = new IntList[k];
+        for (int i = 0; i < k; i++) {
+            indices[i] = new IntList(4);
+        }
+    }
+
+    /**
+     * Summarizes the whole array, splitting it across the common fork-join
+     * pool when it is large.
+     */
+    public static TopKIndexes compute(int[] arr, int k) {
+        return compute(arr, k, ForkJoinPool.commonPool());
+    }
+
+    public static TopKIndexes compute(int[] arr, int k, ForkJoinPool pool) {
+        return pool.invoke(new Chunk(arr, k, 0, arr.length));
+    }
+
+    // Streaming: the value at the next position
+    public void accept(int value) {
+        accept(value, nextIndex);
+        nextIndex = Math.addExact(nextIndex, 1);
+    }
+
+    // Streaming: the next chunk of the sequence
+    public void accept(int[] chunk) {
+        accept(chunk, 0, chunk.length);
+    }
+
+    public void accept(int[] chunk, int from, int to) {
+        int base = nextIndex;
+        nextIndex = Math.addExact(nextIndex, to - from);
+        for (int i = from; i < to; i++) {
+            accept(chunk[i], base + (i - from));
+        }
+    }
+
+    // Records value at an explicit index; indices must arrive in ascending order
+    public void accept(int value, int index) {
+        // Most values are below everything kept once the summary is full
+        if (count == k && value < values[k - 1]) {
+            return;
+        }
+        int rank = 0;
+        while (rank < count && values[rank] > value) {
+            rank++;
+        }
+        if (rank < count && values[rank] == value) {
+            indices[rank].add(index);
+            return;
+        }
+        // New distinct value at rank: shift the smaller ones down, recycling the dropped list
+        IntList list = count == k ? indices[k - 1] : indices[count];
+        int last = Math.min(count, k - 1);
+        System.arraycopy(values, rank, values, rank + 1, last - rank);
+        System.arraycopy(indices, rank, indices, rank + 1, last - rank);
+        values[rank] = value;
+        list.clear();
+        list.add(index);
+        indices[rank] = list;
+        if (count < k) {
+            count++;
+        }
+    }
+
+    /**
+     * Combines this summary with one of the range that directly follows it.
+     * The indices of next count from the start of its own range, as a
+     * streamed summary numbers them, and are shifted past this one's.
+     * Returns a new summary; neither input is modified.
+     */
+    public TopKIndexes merge(TopKIndexes next) {
+        if (next.k != k) {
+            throw new IllegalArgumentException("Cannot merge top-" + k + " with top-" + next.k);
+        }
+        TopKIndexes merged = new TopKIndexes(k);
+        int a = 0;
+        int b = 0;
+        while (merged.count < k && (a < count || b < next.count)) {
+            IntList target = merged.indices[merged.count];
+            if (b == next.count || (a < count && values[a] > next.values[b])) {
+                merged.values[merged.count] = values[a];
+                target.addAll(indices[a++]);
+            } else if (a == count || next.values[b] > values[a]) {
+                merged.values[merged.count] = next.values[b];
+                addShifted(target, next.indices[b++], nextIndex);
+            } else {
+                // Same value on both sides; our indices come first
+                merged.values[merged.count] = values[a];
+                target.addAll(indices[a++]);
+                addShifted(target, next.indices[b++], nextIndex);
+            }
+            merged.count++;
+        }
+        merged.nextIndex = Math.addExact(nextIndex, next.nextIndex);
+        return merged;
+    }
+
+    private static void addShifted(IntList target, IntList source, int offset) {
+        target.ensureCapacity(target.size() + source.size());
+        for (int i = 0; i < source.size(); i++) {
+            target.add(Math.addExact(source.get(i), offset));
+        }
+    }
+
+    // Number of distinct values kept, at most k
+    public int count() {
+        return count;
+    }
+
+    // The (rank + 1)-th largest distinct value
+    public int value(int rank) {
+        checkRank(rank);
+        return values[rank];
+    }
+
+    // Where the (rank + 1)-th largest distinct value occurs; do not modify
+    public IntList indices(int rank) {
+        checkRank(rank);
+        return indices[rank];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(values[i]).append('=').append(indices[i]);
+        }
+        return sb.append('}').toString();
+    }
+
+    private void checkRank(int rank) {
+        if (rank < 0 || rank >= count) {
+            throw new IndexOutOfBoundsException("Rank " + rank + " out of bounds for " + count + " values");
+        }
+    }
+
+    // Summarizes arr[from, to), splitting until a piece is small enough to scan
+    private static class Chunk extends RecursiveTask<TopKIndexes> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] arr;
+        private final int k;
+        private final int from, to;
+
+        Chunk(int[] arr, int k, int from, int to) {
+            this.arr = arr;
+            this.k = k;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected TopKIndexes compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                // Indices relative to from, like any streamed summary; merge shifts them
+                TopKIndexes summary = new TopKIndexes(k);
+                summary.accept(arr, from, to);
+                return summary;
+            }
+            int mid = (from + to) >>> 1;
+            Chunk left = new Chunk(arr, k, from, mid);
+            left.fork();
+            TopKIndexes right = new Chunk(arr, k, mid, to).compute();
+            return left.join().merge(right);
+        }
+    }
+}
\ No newline at end of file
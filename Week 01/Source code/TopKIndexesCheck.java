@@ -0,0 +1,61 @@
+import java.util.Random;
+
+/**
+ * Consistency check for TopKIndexes: summaries streamed independently and
+ * merged must equal one summary streamed over the whole sequence, and so
+ * must the fork-join compute. Exits with status 1 on failure.
+ *
+ * Usage: java TopKIndexesCheck [rounds]
+ */
+public class TopKIndexesCheck {
+    public static void main(String[] args) {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int failures = 0;
+
+        // Two halves streamed on their own, each numbering its indices from 0
+        TopKIndexes left = new TopKIndexes(2);
+        left.accept(new int[] { 1, 4, 3 });
+        TopKIndexes right = new TopKIndexes(2);
+        right.accept(new int[] { -6, 5, 4 });
+        failures += check("merged halves", "{5=[4], 4=[1, 5]}", left.merge(right).toString());
+
+        Random random = new Random(42);
+        for (int round = 0; round < rounds; round++) {
+            int k = 1 + random.nextInt(4);
+            // Past the parallel threshold now and then, so compute really splits
+            int[] arr = new int[round % 20 == 0 ? 200_000 + random.nextInt(1000) : random.nextInt(200)];
+            for (int i = 0; i < arr.length; i++) {
+                arr[i] = random.nextInt(50) - 25;
+            }
+            TopKIndexes whole = new TopKIndexes(k);
+            whole.accept(arr);
+            String expected = whole.toString();
+
+            // Merge several independently streamed pieces, left to right
+            TopKIndexes merged = new TopKIndexes(k);
+            for (int from = 0; from < arr.length; ) {
+                int to = Math.min(arr.length, from + 1 + random.nextInt(50));
+                TopKIndexes piece = new TopKIndexes(k);
+                piece.accept(arr, from, to);
+                merged = merged.merge(piece);
+                from = to;
+            }
+            failures += check("merged pieces, round " + round, expected, merged.toString());
+            failures += check("compute, round " + round, expected, TopKIndexes.compute(arr, k).toString());
+        }
+
+        if (failures > 0) {
+            System.out.println(failures + " check(s) FAILED");
+            System.exit(1);
+        }
+        System.out.println("OK");
+    }
+
+    private static int check(String what, String expected, String actual) {
+        if (expected.equals(actual)) {
+            return 0;
+        }
+        System.out.println(what + ": expected " + expected + " but got " + actual);
+        return 1;
+    }
+}
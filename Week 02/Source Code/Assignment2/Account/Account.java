@@ -1,22 +1,37 @@
 public interface Account {
-    void deposit(double amount);
-    void withdraw(double amount);
-    double getBalance();
+    // Amounts are in cents, see Money
+    void depositCents(long amount);
+    void withdrawCents(long amount);
+    long getBalanceCents();
     String getAccountId();
+
+    default void deposit(double amount) {
+        depositCents(Money.ofDollars(amount));
+    }
+
+    default void withdraw(double amount) {
+        withdrawCents(Money.ofDollars(amount));
+    }
+
+    default double getBalance() {
+        return Money.toDollars(getBalanceCents());
+    }
     
     default void log(String message) {
-        System.out.println("Account (" + getAccountId() + ") log: " + message);
+        LogSinks.get().log("Account (", getAccountId(), ") log: " + message, LogSink.NO_AMOUNT);
     }
     
-    static void isValidAccountId(String accountId) {
-        if (accountId.matches("^(SA|CA)\\d{4}$")) {
-            System.out.println(">> Valid account ID: " + accountId);
+    static boolean isValidAccountId(String accountId) {
+        boolean valid = AccountIdValidator.isValid(accountId);
+        if (valid) {
+            LogSinks.get().log(">> Valid account ID: ", accountId, "", LogSink.NO_AMOUNT);
         } else {
-            System.out.println(">> Invalid account ID: " + accountId);
+            LogSinks.get().log(">> Invalid account ID: ", accountId, "", LogSink.NO_AMOUNT);
         }
+        return valid;
     }
     
     default void printBalance() {
-        System.out.println("Account (" + getAccountId() + ") balance: $" + getBalance());
+        LogSinks.get().log("Account (", getAccountId(), ") balance: ", getBalanceCents());
     }
 }
\ No newline at end of file
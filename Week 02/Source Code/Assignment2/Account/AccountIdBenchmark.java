@@ -0,0 +1,80 @@
+import java.util.Arrays;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+/**
+ * Compares ways of validating a bulk import of account IDs: String.matches
+ * (the old path, which compiles the regex on every call), a precompiled
+ * Pattern, the hand-written AccountIdValidator, and its parallel bulk API.
+ *
+ * Usage: java AccountIdBenchmark [idCount]
+ */
+public class AccountIdBenchmark {
+    private static final String REGEX = "^(SA|CA)\\d{4}$";
+    private static final Pattern PATTERN = Pattern.compile(REGEX);
+
+    interface Check {
+        boolean test(String id);
+    }
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        String[] ids = generate(count, new Random(42));
+
+        for (int round = 1; round <= 3; round++) { // Early rounds double as JIT warm-up
+            System.out.println("Round " + round + ", " + count + " IDs:");
+            measure("String.matches", ids, id -> id.matches(REGEX));
+            measure("precompiled Pattern", ids, id -> PATTERN.matcher(id).matches());
+            measure("AccountIdValidator", ids, AccountIdValidator::isValid);
+
+            long start = System.nanoTime();
+            boolean[] valid = AccountIdValidator.validateAll(ids);
+            long elapsed = System.nanoTime() - start;
+            int matched = 0;
+            for (boolean v : valid) {
+                if (v) {
+                    matched++;
+                }
+            }
+            report("validateAll (parallel)", elapsed, count, matched);
+        }
+    }
+
+    private static void measure(String name, String[] ids, Check check) {
+        long start = System.nanoTime();
+        int matched = 0;
+        for (String id : ids) {
+            if (check.test(id)) {
+                matched++;
+            }
+        }
+        report(name, System.nanoTime() - start, ids.length, matched);
+    }
+
+    private static void report(String name, long nanos, int count, int matched) {
+        // The matched count must agree across all variants
+        System.out.printf("  %-24s %8.1f ms %8.1f ns/id  valid=%d%n", name, nanos / 1e6, (double) nanos / count, matched);
+    }
+
+    // Roughly half valid IDs, the rest near misses of each kind
+    private static String[] generate(int count, Random random) {
+        String[] ids = new String[count];
+        for (int i = 0; i < count; i++) {
+            char[] id = {random.nextBoolean() ? 'S' : 'C', 'A', digit(random), digit(random), digit(random), digit(random)};
+            switch (random.nextInt(8)) {
+                case 0 -> id[0] = 'X';
+                case 1 -> id[5] = 'x';
+                case 2 -> id = Arrays.copyOf(id, 5);
+                case 3 -> id[1] = 'a';
+                default -> {
+                }
+            }
+            ids[i] = new String(id);
+        }
+        return ids;
+    }
+
+    private static char digit(Random random) {
+        return (char) ('0' + random.nextInt(10));
+    }
+}
\ No newline at end of file
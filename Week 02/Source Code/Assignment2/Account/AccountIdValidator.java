@@ -0,0 +1,76 @@
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Checks account IDs against the format "SA" or "CA" followed by four ASCII
+ * digits, i.e. the regex ^(SA|CA)\d{4}$, with a hand-written matcher that
+ * allocates nothing and reports why an ID was rejected.
+ */
+public final class AccountIdValidator {
+    public enum Result { VALID, MISSING, WRONG_LENGTH, UNKNOWN_PREFIX, NOT_DIGITS }
+
+    private static final int LENGTH = 6;
+    // Below this, splitting across threads costs more than it saves
+    private static final int PARALLEL_THRESHOLD = 8192;
+
+    private AccountIdValidator() {
+    }
+
+    public static Result check(CharSequence id) {
+        if (id == null) {
+            return Result.MISSING;
+        }
+        if (id.length() != LENGTH) {
+            return Result.WRONG_LENGTH;
+        }
+        char first = id.charAt(0);
+        if ((first != 'S' && first != 'C') || id.charAt(1) != 'A') {
+            return Result.UNKNOWN_PREFIX;
+        }
+        for (int i = 2; i < LENGTH; i++) {
+            char c = id.charAt(i);
+            if (c < '0' || c > '9') {
+                return Result.NOT_DIGITS;
+            }
+        }
+        return Result.VALID;
+    }
+
+    public static boolean isValid(CharSequence id) {
+        return check(id) == Result.VALID;
+    }
+
+    /**
+     * Validates every ID, in parallel for large arrays.
+     *
+     * @return valid[i] tells whether ids[i] is valid
+     */
+    public static boolean[] validateAll(CharSequence[] ids) {
+        boolean[] valid = new boolean[ids.length];
+        IntStream indexes = IntStream.range(0, ids.length);
+        if (ids.length >= PARALLEL_THRESHOLD) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(i -> valid[i] = isValid(ids[i]));
+        return valid;
+    }
+
+    // Result code per ID, in parallel for large arrays
+    public static Result[] checkAll(CharSequence[] ids) {
+        Result[] results = new Result[ids.length];
+        IntStream indexes = IntStream.range(0, ids.length);
+        if (ids.length >= PARALLEL_THRESHOLD) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(i -> results[i] = check(ids[i]));
+        return results;
+    }
+
+    /**
+     * Returns the invalid IDs of the stream, checked in parallel and kept in
+     * encounter order.
+     */
+    public static <T extends CharSequence> Stream<T> invalidIds(Stream<T> ids) {
+        return ids.parallel().filter(id -> !isValid(id));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,165 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Log sink that never makes the caller wait on I/O.
+ *
+ * Callers claim a slot in a bounded ring buffer with one compare-and-set,
+ * build the line into the slot's pre-sized StringBuilder and publish it by
+ * bumping the slot's sequence number. A single daemon thread drains the slots
+ * in order and writes them through a buffered writer, flushing whenever the
+ * ring runs empty. When the ring is full the policy decides whether the caller
+ * drops the line (counted in getDroppedCount) or spins until a slot frees up.
+ */
+public class AsyncLogSink implements LogSink, AutoCloseable {
+    public enum Policy { DROP, BLOCK }
+
+    private static final int LINE_CAPACITY = 128;
+    private static final long MAX_IDLE_NANOS = 1_000_000;
+
+    private static final class Slot {
+        final StringBuilder line = new StringBuilder(LINE_CAPACITY);
+        // Equals the claim position when free, position + 1 when published
+        volatile long sequence;
+    }
+
+    private final Slot[] slots;
+    private final int mask;
+    private final Policy policy;
+    private final AtomicLong tail = new AtomicLong(); // Next position to claim
+    private final LongAdder dropped = new LongAdder();
+    private final Writer out;
+    private final Thread drainer;
+    private volatile boolean running = true;
+    private long head; // Next position to drain, drainer thread only
+
+    public AsyncLogSink() {
+        this(System.out, 8192, Policy.BLOCK);
+    }
+
+    public AsyncLogSink(OutputStream stream, int capacity, Policy policy) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+            slots[i].sequence = i;
+        }
+        this.mask = capacity - 1;
+        this.policy = policy;
+        this.out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), 64 * 1024);
+        this.drainer = new Thread(this::drain, "account-log");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    @Override
+    public void log(String head, String accountId, String tail, long cents) {
+        Slot slot = claim();
+        if (slot == null) {
+            dropped.increment();
+            return;
+        }
+        StringBuilder line = slot.line;
+        line.setLength(0);
+        LogSink.format(line, head, accountId, tail, cents);
+        slot.sequence++; // Publish; only the claimer writes the slot until now
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    // Returns null when the ring is full and the policy is DROP
+    private Slot claim() {
+        while (true) {
+            long pos = tail.get();
+            Slot slot = slots[(int) pos & mask];
+            long diff = slot.sequence - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    return slot;
+                }
+            } else if (diff < 0) {
+                // The drainer has not freed this slot yet: the ring is full
+                if (policy == Policy.DROP || !running) {
+                    return null;
+                }
+                Thread.onSpinWait();
+            }
+            // diff > 0: another producer claimed pos first, read the tail again
+        }
+    }
+
+    private void drain() {
+        long idleNanos = 1_000;
+        while (true) {
+            boolean stopping = !running; // Read before draining so nothing published earlier is missed
+            int drained = drainAvailable();
+            if (drained > 0) {
+                idleNanos = 1_000;
+                continue;
+            }
+            flushQuietly();
+            if (stopping) {
+                return;
+            }
+            // Back off while idle so an empty log costs next to nothing
+            LockSupport.parkNanos(idleNanos);
+            idleNanos = Math.min(idleNanos * 2, MAX_IDLE_NANOS);
+        }
+    }
+
+    private int drainAvailable() {
+        int drained = 0;
+        while (true) {
+            Slot slot = slots[(int) head & mask];
+            if (slot.sequence != head + 1) {
+                return drained;
+            }
+            try {
+                out.append(slot.line).write(System.lineSeparator());
+            } catch (IOException e) {
+                // Nowhere left to report it; keep draining so producers never stall
+            }
+            if (slot.line.capacity() > LINE_CAPACITY * 8) {
+                slot.line.setLength(0);
+                slot.line.trimToSize(); // Do not keep one huge message's buffer around
+                slot.line.ensureCapacity(LINE_CAPACITY);
+            }
+            slot.sequence = head + slots.length; // Free for the claimer one lap ahead
+            head++;
+            drained++;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            // Ignored, see drainAvailable
+        }
+    }
+
+    /**
+     * Stops the drainer after it has written every line published so far.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
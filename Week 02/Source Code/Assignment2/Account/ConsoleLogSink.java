@@ -0,0 +1,9 @@
+/**
+ * Prints each line to System.out on the calling thread.
+ */
+public class ConsoleLogSink implements LogSink {
+    @Override
+    public void log(String head, String accountId, String tail, long cents) {
+        System.out.println(LogSink.format(new StringBuilder(64), head, accountId, tail, cents));
+    }
+}
\ No newline at end of file
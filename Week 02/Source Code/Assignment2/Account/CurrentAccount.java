@@ -1,31 +1,49 @@
 public class CurrentAccount implements Account {
-    private double balance;
-    private double overdraftLimit = 500;
+    private long balance; // Cents
+    private long overdraftLimit = Money.ofDollars(500, 0);
     private String accountId;
+    private final TransactionJournal journal; // Null when not journaled
 
     public CurrentAccount(String accountId) {
+        this(accountId, null);
+    }
+
+    // Restores the balance from the journal and records every transaction in it
+    public CurrentAccount(String accountId, TransactionJournal journal) {
         this.accountId = accountId;
-        System.out.println("CurrentAccount (" + accountId + ") created with an overdraft limit of $" + overdraftLimit);
+        this.journal = journal;
+        if (journal != null) {
+            balance = journal.balanceOf(accountId);
+        }
+        LogSinks.get().log("CurrentAccount (", accountId, ") created with an overdraft limit of ", overdraftLimit);
     }
 
     @Override
-    public void deposit(double amount) {
-        balance += amount;
-        System.out.println("+ CurrentAccount deposit: $" + amount);
+    public void depositCents(long amount) {
+        long updated = Money.add(balance, amount);
+        if (journal != null) {
+            journal.recordOrThrow(accountId, TransactionJournal.DEPOSIT, amount);
+        }
+        balance = updated;
+        LogSinks.get().log("+ CurrentAccount deposit: ", "", "", amount);
     }
 
     @Override
-    public void withdraw(double amount) {
-        if (balance + overdraftLimit >= amount) {
-            balance -= amount;
-            System.out.println("- CurrentAccount withdraw: $" + amount);
+    public void withdrawCents(long amount) {
+        if (Money.add(balance, overdraftLimit) >= amount) {
+            long updated = Money.subtract(balance, amount);
+            if (journal != null) {
+                journal.recordOrThrow(accountId, TransactionJournal.WITHDRAW, amount);
+            }
+            balance = updated;
+            LogSinks.get().log("- CurrentAccount withdraw: ", "", "", amount);
         } else {
-            System.out.println(">> Overdraft limit exceeded. Transaction declined.");
+            LogSinks.get().log(">> Overdraft limit exceeded. Transaction declined.");
         }
     }
 
     @Override
-    public double getBalance() {
+    public long getBalanceCents() {
         return balance;
     }
 
@@ -36,6 +54,6 @@ public class CurrentAccount implements Account {
 
     @Override
     public void log(String message) {
-        System.out.println("CurrentAccount (" + accountId + ") log: " + message);
+        LogSinks.get().log("CurrentAccount (", accountId, ") log: " + message, LogSink.NO_AMOUNT);
     }
 }
\ No newline at end of file
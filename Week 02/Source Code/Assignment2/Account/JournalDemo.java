@@ -0,0 +1,45 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+public class JournalDemo {
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path directory = args.length > 0 ? Path.of(args[0]) : Files.createTempDirectory("journal-demo");
+        int threads = 8;
+        int depositsPerThread = 2_000;
+
+        // Many threads record concurrently, so they share fsyncs
+        try (TransactionJournal journal = new TransactionJournal(directory)) {
+            List<Thread> workers = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int t = 0; t < threads; t++) {
+                String accountId = "SA" + (1000 + t);
+                Thread worker = new Thread(() -> {
+                    for (int i = 0; i < depositsPerThread; i++) {
+                        journal.recordOrThrow(accountId, TransactionJournal.DEPOSIT, Money.ofDollars(10, 0));
+                    }
+                });
+                workers.add(worker);
+                worker.start();
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            long elapsed = System.nanoTime() - start;
+            System.out.printf("%d durable records in %.1f ms using %d fsyncs%n",
+                    threads * depositsPerThread, elapsed / 1e6, journal.getSyncCount());
+            journal.snapshot();
+
+            Account account = new SavingAccount("SA1000", journal);
+            account.withdraw(150);
+        }
+
+        // Reopening loads the snapshot and replays only the records after it
+        try (TransactionJournal journal = new TransactionJournal(directory)) {
+            Account restored = new SavingAccount("SA1000", journal);
+            restored.printBalance();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+/**
+ * Destination of account log lines. A line is head + accountId + tail,
+ * followed by "$" and the formatted amount unless cents is NO_AMOUNT. Passing
+ * the pieces instead of a finished String lets a sink assemble the line in a
+ * reusable buffer.
+ */
+public interface LogSink {
+    long NO_AMOUNT = Long.MIN_VALUE;
+
+    void log(String head, String accountId, String tail, long cents);
+
+    default void log(String message) {
+        log(message, "", "", NO_AMOUNT);
+    }
+
+    // Builds the line described above into sb
+    static StringBuilder format(StringBuilder sb, String head, String accountId, String tail, long cents) {
+        sb.append(head).append(accountId).append(tail);
+        if (cents != NO_AMOUNT) {
+            sb.append('$');
+            Money.appendTo(sb, cents);
+        }
+        return sb;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+/**
+ * Holds the sink used by the Account classes. Defaults to the console.
+ */
+public final class LogSinks {
+    private static volatile LogSink sink = new ConsoleLogSink();
+
+    private LogSinks() {
+    }
+
+    public static LogSink get() {
+        return sink;
+    }
+
+    public static void set(LogSink newSink) {
+        sink = newSink;
+    }
+}
\ No newline at end of file
@@ -1,5 +1,9 @@
 public class Main {
     public static void main(String[] args) {
+        // Account output goes through a background thread from here on
+        AsyncLogSink logSink = new AsyncLogSink();
+        LogSinks.set(logSink);
+
         Account savingAccount1 = new SavingAccount("SV-1001");
         Account.isValidAccountId("SV-1001");
         savingAccount1.deposit(1000);
@@ -27,5 +31,7 @@ public class Main {
         currentAccount2.withdraw(1200); 
         currentAccount2.log("Transaction attempted and failed.");
         currentAccount2.printBalance();
+
+        logSink.close(); // Writes out everything still queued
     }
 }
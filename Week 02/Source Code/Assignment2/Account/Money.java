@@ -0,0 +1,53 @@
+/**
+ * Money as a long count of cents (minor units). All operations are static
+ * and work on primitives, so arithmetic is exact and allocates nothing;
+ * overflow throws ArithmeticException instead of wrapping.
+ */
+public final class Money {
+    public static final long CENTS_PER_DOLLAR = 100;
+
+    private Money() {
+    }
+
+    // Converts a dollar amount, rounding to the nearest cent
+    public static long ofDollars(double dollars) {
+        if (Double.isNaN(dollars) || Math.abs(dollars) >= Long.MAX_VALUE / CENTS_PER_DOLLAR) {
+            throw new ArithmeticException("Amount out of range: " + dollars);
+        }
+        return Math.round(dollars * CENTS_PER_DOLLAR);
+    }
+
+    public static long ofDollars(long dollars, int cents) {
+        return Math.addExact(Math.multiplyExact(dollars, CENTS_PER_DOLLAR), cents);
+    }
+
+    public static double toDollars(long cents) {
+        return (double) cents / CENTS_PER_DOLLAR;
+    }
+
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+
+    // Formats cents as dollars with two decimals, e.g. -1205 -> "-12.05"
+    public static String format(long cents) {
+        return appendTo(new StringBuilder(24), cents).toString();
+    }
+
+    public static StringBuilder appendTo(StringBuilder sb, long cents) {
+        if (cents < 0) {
+            sb.append('-');
+        }
+        // Dividing first keeps Long.MIN_VALUE safe from Math.abs
+        sb.append(Math.abs(cents / CENTS_PER_DOLLAR)).append('.');
+        long rest = Math.abs(cents % CENTS_PER_DOLLAR);
+        if (rest < 10) {
+            sb.append('0');
+        }
+        return sb.append(rest);
+    }
+}
@@ -1,30 +1,48 @@
 public class SavingAccount implements Account {
-    private double balance;
+    private long balance; // Cents
     private String accountId;
+    private final TransactionJournal journal; // Null when not journaled
 
     public SavingAccount(String accountId) {
+        this(accountId, null);
+    }
+
+    // Restores the balance from the journal and records every transaction in it
+    public SavingAccount(String accountId, TransactionJournal journal) {
         this.accountId = accountId;
-        System.out.println("SavingAccount (" + accountId + ") created.");
+        this.journal = journal;
+        if (journal != null) {
+            balance = journal.balanceOf(accountId);
+        }
+        LogSinks.get().log("SavingAccount (", accountId, ") created.", LogSink.NO_AMOUNT);
     }
 
     @Override
-    public void deposit(double amount) {
-        balance += amount;
-        System.out.println("+ SavingAccount deposit: $" + amount);
+    public void depositCents(long amount) {
+        long updated = Money.add(balance, amount);
+        if (journal != null) {
+            journal.recordOrThrow(accountId, TransactionJournal.DEPOSIT, amount);
+        }
+        balance = updated;
+        LogSinks.get().log("+ SavingAccount deposit: ", "", "", amount);
     }
 
     @Override
-    public void withdraw(double amount) {
+    public void withdrawCents(long amount) {
         if (balance >= amount) {
-            balance -= amount;
-            System.out.println("- SavingAccount withdraw: $" + amount);
+            long updated = Money.subtract(balance, amount);
+            if (journal != null) {
+                journal.recordOrThrow(accountId, TransactionJournal.WITHDRAW, amount);
+            }
+            balance = updated;
+            LogSinks.get().log("- SavingAccount withdraw: ", "", "", amount);
         } else {
-            System.out.println(">> Insufficient balance. Transaction declined.");
+            LogSinks.get().log(">> Insufficient balance. Transaction declined.");
         }
     }
 
     @Override
-    public double getBalance() {
+    public long getBalanceCents() {
         return balance;
     }
 
@@ -35,6 +53,6 @@ public class SavingAccount implements Account {
 
     @Override
     public void log(String message) {
-        System.out.println("SavingAccount (" + accountId + ") log: " + message);
+        LogSinks.get().log("SavingAccount (", accountId, ") log: " + message, LogSink.NO_AMOUNT);
     }
 }
\ No newline at end of file
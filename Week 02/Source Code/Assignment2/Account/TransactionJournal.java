@@ -0,0 +1,298 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only, write-ahead journal of deposits and withdrawals.
+ *
+ * Callers append a record and then wait until it is on disk. Waiting callers
+ * share fsyncs (group commit): the first one becomes the leader and writes and
+ * forces every record appended so far, while new records collect in a second
+ * buffer for the next leader. A snapshot stores all balances together with the
+ * journal offset it covers, so startup only replays the journal tail.
+ *
+ * Record layout: int bodyLength, body (byte type, long cents, short idLength,
+ * UTF-8 id), int CRC32 of the body. A torn or corrupt tail is cut off on replay.
+ */
+public class TransactionJournal implements Closeable {
+    public static final byte DEPOSIT = 1;
+    public static final byte WITHDRAW = 2;
+
+    private static final String JOURNAL_FILE = "accounts.journal";
+    private static final String SNAPSHOT_FILE = "accounts.snapshot";
+    private static final int MIN_BODY = 1 + 8 + 2;
+    private static final int MAX_BODY = MIN_BODY + 0xFFFF;
+
+    private final Path snapshotPath;
+    private final FileChannel channel;
+    private final Map<String, Long> balances = new HashMap<>();
+    private final CRC32 crc = new CRC32();
+
+    // Records appended but not yet handed to a leader, and the buffer being written
+    private ByteBuffer pending = ByteBuffer.allocate(64 * 1024);
+    private ByteBuffer writing = ByteBuffer.allocate(64 * 1024);
+    private long appendedSeq;
+    private long durableSeq;
+    private boolean flushing;
+    private IOException failure;
+    private long syncCount;
+
+    /**
+     * Opens (or creates) the journal in the directory and replays it.
+     */
+    public TransactionJournal(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        this.snapshotPath = directory.resolve(SNAPSHOT_FILE);
+        this.channel = FileChannel.open(directory.resolve(JOURNAL_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long offset = loadSnapshot();
+        replay(offset);
+    }
+
+    public synchronized long balanceOf(String accountId) {
+        return balances.getOrDefault(accountId, 0L);
+    }
+
+    // Number of fsyncs so far; with concurrent callers this stays well below the record count
+    public synchronized long getSyncCount() {
+        return syncCount;
+    }
+
+    /**
+     * Appends a record and returns once it is durable.
+     */
+    public void record(String accountId, byte type, long cents) throws IOException {
+        long seq;
+        synchronized (this) {
+            if (failure != null) {
+                throw new IOException("Journal is unusable after an earlier write failure", failure);
+            }
+            seq = append(accountId, type, cents);
+        }
+        awaitDurable(seq);
+    }
+
+    // For Account implementations, whose methods cannot throw IOException
+    public void recordOrThrow(String accountId, byte type, long cents) {
+        try {
+            record(accountId, type, cents);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes all balances to the snapshot file. Appends wait while it runs.
+     */
+    public synchronized void snapshot() throws IOException {
+        waitWhileFlushing();
+        if (writeAndForce(pending)) {
+            syncCount++;
+        }
+        durableSeq = appendedSeq;
+
+        ByteBuffer out = ByteBuffer.allocate(8 + 4 + balances.size() * (2 + 8 + 64) + 4);
+        out.putLong(channel.position()).putInt(balances.size());
+        for (Map.Entry<String, Long> entry : balances.entrySet()) {
+            byte[] id = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            if (out.remaining() < 2 + id.length + 8 + 4) {
+                out = ByteBuffer.allocate(out.capacity() * 2 + id.length).put(out.flip());
+            }
+            out.putShort((short) id.length).put(id).putLong(entry.getValue());
+        }
+        crc.reset();
+        crc.update(out.array(), 0, out.position());
+        out.putInt((int) crc.getValue());
+        out.flip();
+
+        // Write to a temp file and rename, so a crash never leaves half a snapshot
+        Path temp = snapshotPath.resolveSibling(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel file = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (out.hasRemaining()) {
+                file.write(out);
+            }
+            file.force(true);
+        }
+        Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        notifyAll();
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            waitWhileFlushing();
+            if (writeAndForce(pending)) {
+                syncCount++;
+            }
+            durableSeq = appendedSeq;
+            notifyAll();
+        }
+        channel.close();
+    }
+
+    private long append(String accountId, byte type, long cents) {
+        byte[] id = accountId.getBytes(StandardCharsets.UTF_8);
+        if (id.length > 0xFFFF) {
+            throw new IllegalArgumentException("Account ID too long: " + accountId);
+        }
+        long delta = type == DEPOSIT ? cents : Math.negateExact(cents);
+        balances.merge(accountId, delta, Math::addExact);
+
+        int body = MIN_BODY + id.length;
+        if (pending.remaining() < 4 + body + 4) {
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + body + 8));
+            pending = grown.put(pending.flip());
+        }
+        int start = pending.position() + 4;
+        pending.putInt(body).put(type).putLong(cents).putShort((short) id.length).put(id);
+        crc.reset();
+        crc.update(pending.array(), start, body);
+        pending.putInt((int) crc.getValue());
+        return ++appendedSeq;
+    }
+
+    private void awaitDurable(long seq) throws IOException {
+        while (true) {
+            ByteBuffer batch;
+            long batchSeq;
+            synchronized (this) {
+                waitWhileFlushing();
+                if (durableSeq >= seq) {
+                    return;
+                }
+                if (failure != null) {
+                    throw new IOException("Journal write failed", failure);
+                }
+                // Become the leader: take everything appended so far
+                flushing = true;
+                batch = pending;
+                pending = writing;
+                writing = batch;
+                batchSeq = appendedSeq;
+            }
+
+            IOException error = null;
+            try {
+                writeAndForce(batch);
+            } catch (IOException e) {
+                error = e;
+            }
+            synchronized (this) {
+                flushing = false;
+                if (error == null) {
+                    durableSeq = batchSeq;
+                    syncCount++;
+                } else {
+                    failure = error;
+                }
+                notifyAll();
+            }
+            if (error != null) {
+                throw error;
+            }
+        }
+    }
+
+    // Caller holds the monitor
+    private void waitWhileFlushing() throws InterruptedIOException {
+        while (flushing) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the journal");
+            }
+        }
+    }
+
+    // Returns whether anything was written
+    private boolean writeAndForce(ByteBuffer batch) throws IOException {
+        if (batch.position() == 0) {
+            return false;
+        }
+        batch.flip();
+        while (batch.hasRemaining()) {
+            channel.write(batch);
+        }
+        batch.clear();
+        channel.force(false);
+        return true;
+    }
+
+    private long loadSnapshot() throws IOException {
+        if (!Files.exists(snapshotPath)) {
+            return 0;
+        }
+        ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(snapshotPath));
+        if (in.remaining() < 16) {
+            return 0;
+        }
+        crc.reset();
+        crc.update(in.array(), 0, in.limit() - 4);
+        if ((int) crc.getValue() != in.getInt(in.limit() - 4)) {
+            return 0; // Corrupt snapshot: the journal itself is complete, replay all of it
+        }
+        long offset = in.getLong();
+        int count = in.getInt();
+        for (int i = 0; i < count; i++) {
+            byte[] id = new byte[in.getShort() & 0xFFFF];
+            in.get(id);
+            balances.put(new String(id, StandardCharsets.UTF_8), in.getLong());
+        }
+        return offset;
+    }
+
+    private void replay(long offset) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(1024 * 1024);
+        long validEnd = offset;
+        channel.position(offset);
+        boolean corrupt = false;
+        while (!corrupt) {
+            int read = channel.read(buf);
+            buf.flip();
+            while (buf.remaining() >= 4) {
+                int body = buf.getInt(buf.position());
+                if (body < MIN_BODY || body > MAX_BODY) {
+                    corrupt = true;
+                    break;
+                }
+                if (buf.remaining() < 4 + body + 4) {
+                    break; // Record continues in the next read
+                }
+                int start = buf.position() + 4;
+                crc.reset();
+                crc.update(buf.array(), start, body);
+                if ((int) crc.getValue() != buf.getInt(start + body)) {
+                    corrupt = true;
+                    break;
+                }
+                byte type = buf.get(start);
+                long cents = buf.getLong(start + 1);
+                int idLength = buf.getShort(start + 9) & 0xFFFF;
+                String id = new String(buf.array(), start + 11, idLength, StandardCharsets.UTF_8);
+                balances.merge(id, type == DEPOSIT ? cents : -cents, Long::sum);
+                buf.position(start + body + 4);
+                validEnd += 4 + body + 4;
+            }
+            buf.compact();
+            if (read <= 0) {
+                break;
+            }
+        }
+        // Drop a torn tail left by a crash mid-write
+        channel.truncate(validEnd);
+        channel.position(validEnd);
+    }
+}
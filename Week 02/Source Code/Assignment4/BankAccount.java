@@ -2,32 +2,45 @@ import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 public class BankAccount {
-    private double balance;
+    private long balance; // Cents, so repeated deposits and withdrawals stay exact
     private final Lock lock = new ReentrantLock(); // ReentrantLock for thread safety
 
     // Deposit method
     public void deposit(double amount) {
+        long updated;
         lock.lock(); // Acquire the lock
         try {
-            balance += amount; // Update balance
-            System.out.println("Deposited: $" + amount + ", Balance: $" + balance);
+            balance = Math.addExact(balance, toCents(amount)); // Update balance
+            updated = balance;
         } finally {
             lock.unlock(); // Release the lock
         }
+        // Print after unlocking so other threads never wait on the console
+        System.out.println("Deposited: $" + amount + ", Balance: $" + updated / 100.0);
     }
 
     // Withdraw method
     public void withdraw(double amount) {
+        long cents = toCents(amount);
+        long updated = -1; // Stays negative when declined
         lock.lock(); // Acquire the lock
         try {
-            if (balance >= amount) { // Check for sufficient balance
-                balance -= amount; // Update balance
-                System.out.println("Withdrawn: $" + amount + ", Balance: $" + balance);
-            } else {
-                System.out.println("Insufficient balance for withdrawal: $" + amount);
+            if (balance >= cents) { // Check for sufficient balance
+                balance -= cents; // Update balance
+                updated = balance;
             }
         } finally {
             lock.unlock(); // Release the lock
         }
+        if (updated >= 0) {
+            System.out.println("Withdrawn: $" + amount + ", Balance: $" + updated / 100.0);
+        } else {
+            System.out.println("Insufficient balance for withdrawal: $" + amount);
+        }
+    }
+
+    // Converts dollars to cents, rounding to the nearest cent
+    private static long toCents(double amount) {
+        return Math.round(amount * 100);
     }
 }
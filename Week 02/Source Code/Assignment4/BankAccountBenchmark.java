@@ -0,0 +1,77 @@
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Contention benchmark: N threads hammer one shared account with alternating
+ * deposits and withdrawals, comparing the ReentrantLock BankAccount with the
+ * lock-free StripedBankAccount.
+ *
+ * Usage: java BankAccountBenchmark [operationsPerThread]
+ */
+public class BankAccountBenchmark {
+    private static final int[] THREAD_COUNTS = {1, 2, 4, 8, 16, 32, 64};
+
+    interface Operation {
+        void run(int i);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int opsPerThread = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        PrintStream console = System.out;
+
+        console.printf("%8s %22s %22s%n", "threads", "BankAccount ops/s", "StripedBankAccount ops/s");
+        for (int threads : THREAD_COUNTS) {
+            BankAccount locked = new BankAccount();
+            StripedBankAccount striped = new StripedBankAccount();
+
+            // BankAccount prints every operation (outside its lock); discard it
+            // so we measure the lock, not the console.
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            double lockedRate = measure(threads, opsPerThread, i -> {
+                if ((i & 1) == 0) {
+                    locked.deposit(2.00);
+                } else {
+                    locked.withdraw(1.00);
+                }
+            });
+            System.setOut(console);
+
+            double stripedRate = measure(threads, opsPerThread, i -> {
+                if ((i & 1) == 0) {
+                    striped.depositCents(200);
+                } else {
+                    striped.withdrawCents(100);
+                }
+            });
+            console.printf("%8d %22.0f %22.0f%n", threads, lockedRate, stripedRate);
+        }
+    }
+
+    private static double measure(int threads, int opsPerThread, Operation operation) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                for (int i = 0; i < opsPerThread; i++) {
+                    operation.run(i);
+                }
+            });
+            workers[t].start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+        return (double) threads * opsPerThread / (elapsed / 1e9);
+    }
+}
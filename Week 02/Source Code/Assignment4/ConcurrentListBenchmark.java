@@ -0,0 +1,123 @@
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mixed read/write throughput of ReadWriteLockJava (copies the list on every
+ * read) against SnapshotIntList (reads a published snapshot) at several
+ * write ratios. Each read sums the list's last few elements.
+ *
+ * Usage: java ConcurrentListBenchmark [threads] [millisPerRun]
+ */
+public class ConcurrentListBenchmark {
+    private static final int[] WRITE_PERCENTS = {50, 10, 1};
+    private static final int INITIAL_SIZE = 10_000;
+
+    interface Container {
+        void write(int value);
+        long read();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        long millis = args.length > 1 ? Long.parseLong(args[1]) : 1_000;
+        PrintStream console = System.out;
+
+        console.printf("%8s %24s %24s%n", "writes", "ReadWriteLockJava ops/s", "SnapshotIntList ops/s");
+        for (int writePercent : WRITE_PERCENTS) {
+            ReadWriteLockJava locked = new ReadWriteLockJava();
+            SnapshotIntList snapshots = new SnapshotIntList();
+            // ReadWriteLockJava prints on every call; discard it so we measure the list
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            for (int i = 0; i < INITIAL_SIZE; i++) {
+                locked.addElement(i);
+                snapshots.add(i);
+            }
+
+            double lockedRate = measure(threads, millis, writePercent, new Container() {
+                @Override
+                public void write(int value) {
+                    locked.addElement(value);
+                }
+
+                // Copies into a reused per-thread IntList, the cheapest way to read this class
+                private final ThreadLocal<IntList> buffers = ThreadLocal.withInitial(IntList::new);
+
+                @Override
+                public long read() {
+                    IntList elements = locked.getElements(buffers.get());
+                    long sum = 0;
+                    for (int i = Math.max(0, elements.size() - 8); i < elements.size(); i++) {
+                        sum += elements.get(i);
+                    }
+                    return sum;
+                }
+            });
+            System.setOut(console);
+
+            double snapshotRate = measure(threads, millis, writePercent, new Container() {
+                @Override
+                public void write(int value) {
+                    snapshots.add(value);
+                }
+
+                @Override
+                public long read() {
+                    SnapshotIntList.Snapshot view = snapshots.snapshot();
+                    long sum = 0;
+                    for (int i = Math.max(0, view.size() - 8); i < view.size(); i++) {
+                        sum += view.get(i);
+                    }
+                    return sum;
+                }
+            });
+            console.printf("%7d%% %24.0f %24.0f%n", writePercent, lockedRate, snapshotRate);
+        }
+    }
+
+    private static double measure(int threads, long millis, int writePercent, Container container)
+            throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean stop = new AtomicBoolean();
+        LongAdder operations = new LongAdder();
+        LongAdder blackhole = new LongAdder(); // Keeps reads from being optimized away
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long done = 0;
+                long sum = 0;
+                while (!stop.get()) {
+                    if (random.nextInt(100) < writePercent) {
+                        container.write((int) done);
+                    } else {
+                        sum += container.read();
+                    }
+                    done++;
+                }
+                operations.add(done);
+                blackhole.add(sum);
+            });
+            workers[t].start();
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        Thread.sleep(millis);
+        stop.set(true);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - begin;
+        return operations.sum() / (elapsed / 1e9);
+    }
+}
\ No newline at end of file
@@ -1,30 +1,44 @@
 import java.util.Arrays;
 import java.util.Random;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
 
+/**
+ * Usage: java MultiThreadedSort [merge|radix] [size]
+ */
 public class MultiThreadedSort {
-    private static final int THREAD_COUNT = 4;
-
-    public static void main(String[] args) throws InterruptedException {
-        int[] array = generateRandomArray(20); // Generate random array
-        System.out.println("Original array: " + Arrays.toString(array));
-
-        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
-
-        // Divide the array into equal parts for each thread
-        int segmentLength = array.length / THREAD_COUNT;
-        for (int i = 0; i < THREAD_COUNT; i++) {
-            int start = i * segmentLength;
-            int end = (i == THREAD_COUNT - 1) ? array.length - 1 : (start + segmentLength - 1);
-            executor.execute(new SortTask(array, start, end));
+    private static final int THREAD_COUNT = Runtime.getRuntime().availableProcessors();
+
+    public static void main(String[] args) {
+        String mode = args.length > 0 ? args[0] : "merge";
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int[] array = generateRandomArray(size); // Generate random array
+        boolean print = size <= 100;
+        if (print) {
+            System.out.println("Original array: " + Arrays.toString(array));
         }
 
-        executor.shutdown();
-        executor.awaitTermination(1, TimeUnit.MINUTES);
+        long start = System.nanoTime();
+        switch (mode) {
+            // Sorting the segments alone is not enough: they also have to be merged.
+            // A tiny threshold so even a small array is split across threads.
+            case "merge" -> {
+                try (ParallelMergeSort sorter = new ParallelMergeSort(THREAD_COUNT, Math.max(4, size / (4 * THREAD_COUNT)))) {
+                    sorter.sort(array);
+                }
+            }
+            // Keys are 0..99, so this is a single counting-sort pass
+            case "radix" -> {
+                try (ParallelRadixSort sorter = new ParallelRadixSort(THREAD_COUNT, 64)) {
+                    sorter.sort(array);
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown sort mode: " + mode + " (expected merge or radix)");
+        }
+        long elapsed = System.nanoTime() - start;
 
-        System.out.println("Sorted array: " + Arrays.toString(array));
+        if (print) {
+            System.out.println("Sorted array: " + Arrays.toString(array));
+        }
+        System.out.printf("Sorted %d elements with %s sort in %.2f ms%n", size, mode, elapsed / 1e6);
     }
 
     // Helper method to generate an array of random integers
@@ -36,21 +50,4 @@ public class MultiThreadedSort {
         }
         return array;
     }
-
-    // Runnable task to sort a segment of the array
-    private static class SortTask implements Runnable {
-        private final int[] array;
-        private final int start, end;
-
-        public SortTask(int[] array, int start, int end) {
-            this.array = array;
-            this.start = start;
-            this.end = end;
-        }
-
-        @Override
-        public void run() {
-            Arrays.sort(array, start, end + 1); // Sort the segment of the array
-        }
-    }
-}
+}
\ No newline at end of file
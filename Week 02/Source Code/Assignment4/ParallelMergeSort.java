@@ -0,0 +1,442 @@
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork-join merge sort for int[], long[] and object arrays.
+ *
+ * The range is split in halves until a piece is at most threshold elements,
+ * which is sorted with Arrays.sort. Sorted halves are merged in parallel too:
+ * the middle element of the longer run is binary-searched in the shorter one,
+ * which splits the merge into two independent smaller merges. All merging
+ * goes through one scratch buffer the size of the array; each level writes
+ * into the array the level above reads from, so nothing is copied back.
+ * The object sort is stable.
+ */
+public class ParallelMergeSort implements AutoCloseable {
+    public static final int DEFAULT_THRESHOLD = 8192;
+
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private final int threshold;
+
+    // Runs on the common pool
+    public ParallelMergeSort() {
+        this(ForkJoinPool.commonPool(), DEFAULT_THRESHOLD, false);
+    }
+
+    // Runs on a pool of its own with the given number of threads; close() shuts it down
+    public ParallelMergeSort(int parallelism, int threshold) {
+        this(new ForkJoinPool(parallelism), threshold, true);
+    }
+
+    public ParallelMergeSort(ForkJoinPool pool, int threshold) {
+        this(pool, threshold, false);
+    }
+
+    private ParallelMergeSort(ForkJoinPool pool, int threshold, boolean ownsPool) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+        }
+        this.pool = pool;
+        this.threshold = threshold;
+        this.ownsPool = ownsPool;
+    }
+
+    public void sort(int[] a) {
+        sort(a, a.length > threshold ? new int[a.length] : null);
+    }
+
+    /**
+     * Sorts using the given scratch buffer, which must be at least as long as
+     * the array. Lets callers sorting repeatedly reuse one buffer.
+     */
+    public void sort(int[] a, int[] scratch) {
+        if (a.length <= threshold) {
+            Arrays.sort(a);
+            return;
+        }
+        checkScratch(a.length, scratch.length);
+        pool.invoke(new IntSorter(threshold, a, scratch, 0, a.length, false));
+    }
+
+    public void sort(long[] a) {
+        sort(a, a.length > threshold ? new long[a.length] : null);
+    }
+
+    public void sort(long[] a, long[] scratch) {
+        if (a.length <= threshold) {
+            Arrays.sort(a);
+            return;
+        }
+        checkScratch(a.length, scratch.length);
+        pool.invoke(new LongSorter(threshold, a, scratch, 0, a.length, false));
+    }
+
+    public <T> void sort(T[] a, Comparator<? super T> comparator) {
+        sort(a, comparator, a.length > threshold ? Arrays.copyOf(a, a.length) : null);
+    }
+
+    public <T> void sort(T[] a, Comparator<? super T> comparator, T[] scratch) {
+        if (a.length <= threshold) {
+            Arrays.sort(a, comparator);
+            return;
+        }
+        checkScratch(a.length, scratch.length);
+        pool.invoke(new ObjectSorter<>(threshold, a, scratch, comparator, 0, a.length, false));
+    }
+
+    @Override
+    public void close() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+
+    private static void checkScratch(int length, int scratchLength) {
+        if (scratchLength < length) {
+            throw new IllegalArgumentException("Scratch buffer too small: " + scratchLength + " < " + length);
+        }
+    }
+
+    // Sorts a[lo, hi) and leaves the result in a, or in w when toScratch is set
+    private static class IntSorter extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int threshold;
+        private final int[] a, w;
+        private final int lo, hi;
+        private final boolean toScratch;
+
+        IntSorter(int threshold, int[] a, int[] w, int lo, int hi, boolean toScratch) {
+            this.threshold = threshold;
+            this.a = a;
+            this.w = w;
+            this.lo = lo;
+            this.hi = hi;
+            this.toScratch = toScratch;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= threshold) {
+                Arrays.sort(a, lo, hi);
+                if (toScratch) {
+                    System.arraycopy(a, lo, w, lo, hi - lo);
+                }
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            // Halves land in the other array, so the merge writes where we need it
+            invokeAll(new IntSorter(threshold, a, w, lo, mid, !toScratch),
+                    new IntSorter(threshold, a, w, mid, hi, !toScratch));
+            new IntMerger(threshold, toScratch ? a : w, toScratch ? w : a, lo, mid, mid, hi, lo).compute();
+        }
+    }
+
+    // Merges src[lo1, hi1) and src[lo2, hi2) into dst starting at out
+    private static class IntMerger extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int threshold;
+        private final int[] src, dst;
+        private final int lo1, hi1, lo2, hi2, out;
+
+        IntMerger(int threshold, int[] src, int[] dst, int lo1, int hi1, int lo2, int hi2, int out) {
+            this.threshold = threshold;
+            this.src = src;
+            this.dst = dst;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.out = out;
+        }
+
+        @Override
+        protected void compute() {
+            if ((hi1 - lo1) + (hi2 - lo2) <= threshold) {
+                mergeSequential();
+                return;
+            }
+            // Split on the middle of the longer run; ties from the left run stay first
+            int m, split, pivotAt;
+            if (hi1 - lo1 >= hi2 - lo2) {
+                m = (lo1 + hi1) >>> 1;
+                split = lowerBound(src, lo2, hi2, src[m]);
+                pivotAt = out + (m - lo1) + (split - lo2);
+                dst[pivotAt] = src[m];
+                invokeAll(new IntMerger(threshold, src, dst, lo1, m, lo2, split, out),
+                        new IntMerger(threshold, src, dst, m + 1, hi1, split, hi2, pivotAt + 1));
+            } else {
+                m = (lo2 + hi2) >>> 1;
+                split = upperBound(src, lo1, hi1, src[m]);
+                pivotAt = out + (split - lo1) + (m - lo2);
+                dst[pivotAt] = src[m];
+                invokeAll(new IntMerger(threshold, src, dst, lo1, split, lo2, m, out),
+                        new IntMerger(threshold, src, dst, split, hi1, m + 1, hi2, pivotAt + 1));
+            }
+        }
+
+        private void mergeSequential() {
+            int i = lo1, j = lo2, k = out;
+            while (i < hi1 && j < hi2) {
+                dst[k++] = src[j] < src[i] ? src[j++] : src[i++];
+            }
+            System.arraycopy(src, i, dst, k, hi1 - i);
+            System.arraycopy(src, j, dst, k + hi1 - i, hi2 - j);
+        }
+    }
+
+    private static class LongSorter extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int threshold;
+        private final long[] a, w;
+        private final int lo, hi;
+        private final boolean toScratch;
+
+        LongSorter(int threshold, long[] a, long[] w, int lo, int hi, boolean toScratch) {
+            this.threshold = threshold;
+            this.a = a;
+            this.w = w;
+            this.lo = lo;
+            this.hi = hi;
+            this.toScratch = toScratch;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= threshold) {
+                Arrays.sort(a, lo, hi);
+                if (toScratch) {
+                    System.arraycopy(a, lo, w, lo, hi - lo);
+                }
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new LongSorter(threshold, a, w, lo, mid, !toScratch),
+                    new LongSorter(threshold, a, w, mid, hi, !toScratch));
+            new LongMerger(threshold, toScratch ? a : w, toScratch ? w : a, lo, mid, mid, hi, lo).compute();
+        }
+    }
+
+    private static class LongMerger extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int threshold;
+        private final long[] src, dst;
+        private final int lo1, hi1, lo2, hi2, out;
+
+        LongMerger(int threshold, long[] src, long[] dst, int lo1, int hi1, int lo2, int hi2, int out) {
+            this.threshold = threshold;
+            this.src = src;
+            this.dst = dst;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.out = out;
+        }
+
+        @Override
+        protected void compute() {
+            if ((hi1 - lo1) + (hi2 - lo2) <= threshold) {
+                mergeSequential();
+                return;
+            }
+            int m, split, pivotAt;
+            if (hi1 - lo1 >= hi2 - lo2) {
+                m = (lo1 + hi1) >>> 1;
+                split = lowerBound(src, lo2, hi2, src[m]);
+                pivotAt = out + (m - lo1) + (split - lo2);
+                dst[pivotAt] = src[m];
+                invokeAll(new LongMerger(threshold, src, dst, lo1, m, lo2, split, out),
+                        new LongMerger(threshold, src, dst, m + 1, hi1, split, hi2, pivotAt + 1));
+            } else {
+                m = (lo2 + hi2) >>> 1;
+                split = upperBound(src, lo1, hi1, src[m]);
+                pivotAt = out + (split - lo1) + (m - lo2);
+                dst[pivotAt] = src[m];
+                invokeAll(new LongMerger(threshold, src, dst, lo1, split, lo2, m, out),
+                        new LongMerger(threshold, src, dst, split, hi1, m + 1, hi2, pivotAt + 1));
+            }
+        }
+
+        private void mergeSequential() {
+            int i = lo1, j = lo2, k = out;
+            while (i < hi1 && j < hi2) {
+                dst[k++] = src[j] < src[i] ? src[j++] : src[i++];
+            }
+            System.arraycopy(src, i, dst, k, hi1 - i);
+            System.arraycopy(src, j, dst, k + hi1 - i, hi2 - j);
+        }
+    }
+
+    private static class ObjectSorter<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int threshold;
+        private final T[] a, w;
+        private final Comparator<? super T> comparator;
+        private final int lo, hi;
+        private final boolean toScratch;
+
+        ObjectSorter(int threshold, T[] a, T[] w, Comparator<? super T> comparator, int lo, int hi, boolean toScratch) {
+            this.threshold = threshold;
+            this.a = a;
+            this.w = w;
+            this.comparator = comparator;
+            this.lo = lo;
+            this.hi = hi;
+            this.toScratch = toScratch;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= threshold) {
+                Arrays.sort(a, lo, hi, comparator); // Stable
+                if (toScratch) {
+                    System.arraycopy(a, lo, w, lo, hi - lo);
+                }
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new ObjectSorter<>(threshold, a, w, comparator, lo, mid, !toScratch),
+                    new ObjectSorter<>(threshold, a, w, comparator, mid, hi, !toScratch));
+            new ObjectMerger<>(threshold, toScratch ? a : w, toScratch ? w : a, comparator, lo, mid, mid, hi, lo)
+                    .compute();
+        }
+    }
+
+    private static class ObjectMerger<T> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int threshold;
+        private final T[] src, dst;
+        private final Comparator<? super T> comparator;
+        private final int lo1, hi1, lo2, hi2, out;
+
+        ObjectMerger(int threshold, T[] src, T[] dst, Comparator<? super T> comparator,
+                     int lo1, int hi1, int lo2, int hi2, int out) {
+            this.threshold = threshold;
+            this.src = src;
+            this.dst = dst;
+            this.comparator = comparator;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.out = out;
+        }
+
+        @Override
+        protected void compute() {
+            if ((hi1 - lo1) + (hi2 - lo2) <= threshold) {
+                mergeSequential();
+                return;
+            }
+            // Equal elements of the left run must end up before those of the right run
+            int m, split, pivotAt;
+            if (hi1 - lo1 >= hi2 - lo2) {
+                m = (lo1 + hi1) >>> 1;
+                split = lowerBound(src, lo2, hi2, src[m], comparator);
+                pivotAt = out + (m - lo1) + (split - lo2);
+                dst[pivotAt] = src[m];
+                invokeAll(new ObjectMerger<>(threshold, src, dst, comparator, lo1, m, lo2, split, out),
+                        new ObjectMerger<>(threshold, src, dst, comparator, m + 1, hi1, split, hi2, pivotAt + 1));
+            } else {
+                m = (lo2 + hi2) >>> 1;
+                split = upperBound(src, lo1, hi1, src[m], comparator);
+                pivotAt = out + (split - lo1) + (m - lo2);
+                dst[pivotAt] = src[m];
+                invokeAll(new ObjectMerger<>(threshold, src, dst, comparator, lo1, split, lo2, m, out),
+                        new ObjectMerger<>(threshold, src, dst, comparator, split, hi1, m + 1, hi2, pivotAt + 1));
+            }
+        }
+
+        private void mergeSequential() {
+            int i = lo1, j = lo2, k = out;
+            while (i < hi1 && j < hi2) {
+                dst[k++] = comparator.compare(src[j], src[i]) < 0 ? src[j++] : src[i++];
+            }
+            System.arraycopy(src, i, dst, k, hi1 - i);
+            System.arraycopy(src, j, dst, k + hi1 - i, hi2 - j);
+        }
+    }
+
+    // First index in [lo, hi) whose value is >= key
+    private static int lowerBound(int[] a, int lo, int hi, int key) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // First index in [lo, hi) whose value is > key
+    private static int upperBound(int[] a, int lo, int hi, int key) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] <= key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static int lowerBound(long[] a, int lo, int hi, long key) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static int upperBound(long[] a, int lo, int hi, long key) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (a[mid] <= key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static <T> int lowerBound(T[] a, int lo, int hi, T key, Comparator<? super T> comparator) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (comparator.compare(a[mid], key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static <T> int upperBound(T[] a, int lo, int hi, T key, Comparator<? super T> comparator) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (comparator.compare(a[mid], key) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,160 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntConsumer;
+
+/**
+ * LSD radix sort for int[], meant for bounded or dense keys such as IDs.
+ *
+ * Keys are sorted by their offset from the minimum, so only as many bits as
+ * the value range needs are processed: a range up to 2^16 takes a single
+ * counting-sort pass, a full 32-bit range three passes of 11 bits. The array
+ * is cut into one block per thread. Each pass counts digits per block,
+ * turns the counts into per-block write offsets with a prefix sum, and then
+ * every block scatters its elements into the scratch buffer concurrently.
+ * Arrays below the fallback size are sorted with Arrays.sort.
+ */
+public class ParallelRadixSort implements AutoCloseable {
+    public static final int DEFAULT_FALLBACK_SIZE = 4096;
+
+    private static final int SINGLE_PASS_BITS = 16;
+    private static final int DIGIT_BITS = 11;
+    private static final int MIN_BLOCK = 16 * 1024; // Smaller blocks are not worth a thread
+
+    private final ForkJoinPool pool;
+    private final boolean ownsPool;
+    private final int fallbackSize;
+
+    public ParallelRadixSort() {
+        this(ForkJoinPool.commonPool(), DEFAULT_FALLBACK_SIZE, false);
+    }
+
+    // Runs on a pool of its own with the given number of threads; close() shuts it down
+    public ParallelRadixSort(int parallelism, int fallbackSize) {
+        this(new ForkJoinPool(parallelism), fallbackSize, true);
+    }
+
+    public ParallelRadixSort(ForkJoinPool pool, int fallbackSize) {
+        this(pool, fallbackSize, false);
+    }
+
+    private ParallelRadixSort(ForkJoinPool pool, int fallbackSize, boolean ownsPool) {
+        this.pool = pool;
+        this.fallbackSize = fallbackSize;
+        this.ownsPool = ownsPool;
+    }
+
+    public void sort(int[] a) {
+        sort(a, a.length < fallbackSize ? null : new int[a.length]);
+    }
+
+    // Sorts using the given scratch buffer, which must be at least as long as the array
+    public void sort(int[] a, int[] scratch) {
+        int n = a.length;
+        if (n < fallbackSize) {
+            Arrays.sort(a);
+            return;
+        }
+        if (scratch.length < n) {
+            throw new IllegalArgumentException("Scratch buffer too small: " + scratch.length + " < " + n);
+        }
+        int blocks = Math.max(1, Math.min(pool.getParallelism(), n / MIN_BLOCK));
+        int blockSize = (n + blocks - 1) / blocks;
+
+        // Value range, from per-block minimums and maximums
+        int[] mins = new int[blocks];
+        int[] maxs = new int[blocks];
+        forEachBlock(blocks, b -> {
+            int lowest = Integer.MAX_VALUE;
+            int highest = Integer.MIN_VALUE;
+            for (int i = b * blockSize, end = Math.min(n, i + blockSize); i < end; i++) {
+                lowest = Math.min(lowest, a[i]);
+                highest = Math.max(highest, a[i]);
+            }
+            mins[b] = lowest;
+            maxs[b] = highest;
+        });
+        int min = Arrays.stream(mins).min().getAsInt();
+        int max = Arrays.stream(maxs).max().getAsInt();
+        int bits = 32 - Integer.numberOfLeadingZeros(max - min); // max - min read as unsigned
+        if (bits == 0) {
+            return; // All keys equal
+        }
+
+        int passes = bits <= SINGLE_PASS_BITS ? 1 : (bits + DIGIT_BITS - 1) / DIGIT_BITS;
+        int digitBits = (bits + passes - 1) / passes;
+        int buckets = 1 << digitBits;
+        int mask = buckets - 1;
+        int[][] offsets = new int[blocks][buckets];
+
+        int[] src = a;
+        int[] dst = scratch;
+        for (int pass = 0, shift = 0; pass < passes; pass++, shift += digitBits) {
+            int[] from = src;
+            int[] to = dst;
+            int digitShift = shift;
+
+            // 1. Per-block digit counts
+            forEachBlock(blocks, b -> {
+                int[] counts = offsets[b];
+                Arrays.fill(counts, 0);
+                for (int i = b * blockSize, end = Math.min(n, i + blockSize); i < end; i++) {
+                    counts[((from[i] - min) >>> digitShift) & mask]++;
+                }
+            });
+
+            // 2. Prefix sum: digit-major, then block order, which keeps the sort stable
+            int position = 0;
+            for (int digit = 0; digit < buckets; digit++) {
+                for (int b = 0; b < blocks; b++) {
+                    int count = offsets[b][digit];
+                    offsets[b][digit] = position;
+                    position += count;
+                }
+            }
+
+            // 3. Scatter; blocks write to disjoint positions
+            forEachBlock(blocks, b -> {
+                int[] next = offsets[b];
+                for (int i = b * blockSize, end = Math.min(n, i + blockSize); i < end; i++) {
+                    int value = from[i];
+                    to[next[((value - min) >>> digitShift) & mask]++] = value;
+                }
+            });
+            src = to;
+            dst = from;
+        }
+
+        if (src != a) {
+            int[] sorted = src;
+            forEachBlock(blocks, b -> {
+                int start = b * blockSize;
+                if (start < n) {
+                    System.arraycopy(sorted, start, a, start, Math.min(n - start, blockSize));
+                }
+            });
+        }
+    }
+
+    private void forEachBlock(int blocks, IntConsumer body) {
+        if (blocks == 1) {
+            body.accept(0);
+            return;
+        }
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(blocks);
+        for (int b = 0; b < blocks; b++) {
+            int block = b;
+            tasks.add(ForkJoinTask.adapt(() -> body.accept(block)));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+    }
+
+    @Override
+    public void close() {
+        if (ownsPool) {
+            pool.shutdown();
+        }
+    }
+}
\ No newline at end of file
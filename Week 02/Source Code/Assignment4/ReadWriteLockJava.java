@@ -1,4 +1,3 @@
-import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
@@ -6,7 +5,7 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public class ReadWriteLockJava {
     // Shared resource
-    private final List<Integer> sharedList = new ArrayList<>();
+    private final IntList sharedList = new IntList(); // Primitive ints, nothing boxed while stored
     private final ReadWriteLock lock = new ReentrantReadWriteLock();
     private final Lock readLock = lock.readLock(); // Use Lock type
     private final Lock writeLock = lock.writeLock(); // Use Lock type
@@ -28,7 +27,19 @@ public class ReadWriteLockJava {
         readLock.lock();
         try {
             System.out.println(Thread.currentThread().getName() + " is reading the list");
-            return new ArrayList<>(sharedList); // Return a copy of the list
+            return sharedList.toList(); // Return a copy of the list
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    // Copies the elements into the caller's list without boxing; reusing it avoids allocating
+    public IntList getElements(IntList into) {
+        readLock.lock();
+        try {
+            into.clear();
+            into.addAll(sharedList);
+            return into;
         } finally {
             readLock.unlock();
         }
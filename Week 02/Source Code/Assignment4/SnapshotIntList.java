@@ -0,0 +1,141 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Append-only list of primitive ints with wait-free, zero-copy reads.
+ *
+ * Writers take the monitor, write into the backing array past the end of
+ * every published snapshot and then publish a new Snapshot (array, size,
+ * epoch) through one volatile field. Readers only read that field: a
+ * Snapshot never changes afterwards, because its slots [0, size) are never
+ * written again. Growing the array copies it; snapshots taken earlier keep
+ * the old array. clear() starts a fresh array for the same reason.
+ */
+public class SnapshotIntList {
+    /**
+     * Immutable view of the list at one epoch.
+     */
+    public static final class Snapshot {
+        private final int[] elements;
+        private final int size;
+        private final long epoch;
+
+        Snapshot(int[] elements, int size, long epoch) {
+            this.elements = elements;
+            this.size = size;
+            this.epoch = epoch;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public int get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+            }
+            return elements[index];
+        }
+
+        // Number of writes before this snapshot was published
+        public long epoch() {
+            return epoch;
+        }
+
+        public void forEach(IntConsumer action) {
+            for (int i = 0; i < size; i++) {
+                action.accept(elements[i]);
+            }
+        }
+
+        public int[] toArray() {
+            return Arrays.copyOf(elements, size);
+        }
+
+        // Boxing read-only view, for code that expects a List<Integer>
+        public List<Integer> asList() {
+            return new AbstractList<Integer>() {
+                @Override
+                public Integer get(int index) {
+                    return Snapshot.this.get(index);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(size * 4 + 2).append('[');
+            for (int i = 0; i < size; i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append(elements[i]);
+            }
+            return sb.append(']').toString();
+        }
+    }
+
+    private int[] elements;
+    private volatile Snapshot current;
+
+    public SnapshotIntList() {
+        this(16);
+    }
+
+    public SnapshotIntList(int initialCapacity) {
+        elements = new int[Math.max(1, initialCapacity)];
+        current = new Snapshot(elements, 0, 0);
+    }
+
+    /**
+     * The current contents. Wait-free, and valid for as long as the caller
+     * keeps it, whatever writers do meanwhile.
+     */
+    public Snapshot snapshot() {
+        return current;
+    }
+
+    public synchronized void add(int element) {
+        Snapshot published = current;
+        int size = published.size;
+        ensureCapacity(size + 1);
+        elements[size] = element;
+        current = new Snapshot(elements, size + 1, published.epoch + 1);
+    }
+
+    // Appends all values as one write, so readers see either none or all of them
+    public synchronized void addAll(int[] values) {
+        Snapshot published = current;
+        int size = published.size;
+        ensureCapacity(size + values.length);
+        System.arraycopy(values, 0, elements, size, values.length);
+        current = new Snapshot(elements, size + values.length, published.epoch + 1);
+    }
+
+    public synchronized void clear() {
+        Snapshot published = current;
+        elements = new int[elements.length];
+        current = new Snapshot(elements, 0, published.epoch + 1);
+    }
+
+    // Caller holds the monitor
+    private void ensureCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalStateException("List too large");
+        }
+        if (capacity > elements.length) {
+            elements = Arrays.copyOf(elements, Math.max(capacity, elements.length * 2));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,102 @@
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+/**
+ * Compares ParallelMergeSort and ParallelRadixSort with Arrays.sort and
+ * Arrays.parallelSort on random int[], long[] and object arrays, plus int
+ * keys bounded to 0..99 and dense IDs, and checks every result.
+ *
+ * Usage: java SortBenchmark [size] [threshold]
+ */
+public class SortBenchmark {
+    // Sorted by key only, so the seq field shows whether a sort is stable
+    static final class Item {
+        final int key;
+        final int seq;
+
+        Item(int key, int seq) {
+            this.key = key;
+            this.seq = seq;
+        }
+    }
+
+    private static final Comparator<Item> BY_KEY = Comparator.comparingInt(item -> item.key);
+
+    interface Sort<A> {
+        void sort(A array);
+    }
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int threshold = args.length > 1 ? Integer.parseInt(args[1]) : ParallelMergeSort.DEFAULT_THRESHOLD;
+        Random random = new Random(42);
+        int[] ints = random.ints(size).toArray();
+        int[] bounded = random.ints(size, 0, 100).toArray();
+        int[] ids = random.ints(size, 1_000_000, 1_000_000 + size).toArray();
+        long[] longs = random.longs(size).toArray();
+        Item[] items = new Item[size / 4]; // Objects cost more memory, keep them smaller
+        for (int i = 0; i < items.length; i++) {
+            items[i] = new Item(random.nextInt(items.length / 8 + 1), i);
+        }
+
+        int[] expectedInts = ints.clone();
+        Arrays.sort(expectedInts);
+        int[] expectedBounded = bounded.clone();
+        Arrays.sort(expectedBounded);
+        int[] expectedIds = ids.clone();
+        Arrays.sort(expectedIds);
+        long[] expectedLongs = longs.clone();
+        Arrays.sort(expectedLongs);
+
+        System.out.println("size=" + size + " threshold=" + threshold
+                + " parallelism=" + Runtime.getRuntime().availableProcessors());
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        try (ParallelMergeSort sorter = new ParallelMergeSort(parallelism, threshold);
+             ParallelRadixSort radix = new ParallelRadixSort(parallelism, ParallelRadixSort.DEFAULT_FALLBACK_SIZE)) {
+            for (int round = 1; round <= 3; round++) { // Early rounds double as JIT warm-up
+                System.out.println("Round " + round + ":");
+                run("int[]    Arrays.sort", ints, int[]::clone, Arrays::sort, a -> Arrays.equals(a, expectedInts));
+                run("int[]    Arrays.parallelSort", ints, int[]::clone, Arrays::parallelSort, a -> Arrays.equals(a, expectedInts));
+                run("int[]    ParallelMergeSort", ints, int[]::clone, sorter::sort, a -> Arrays.equals(a, expectedInts));
+                run("int[]    ParallelRadixSort", ints, int[]::clone, radix::sort, a -> Arrays.equals(a, expectedInts));
+                run("0..99    Arrays.parallelSort", bounded, int[]::clone, Arrays::parallelSort, a -> Arrays.equals(a, expectedBounded));
+                run("0..99    ParallelMergeSort", bounded, int[]::clone, sorter::sort, a -> Arrays.equals(a, expectedBounded));
+                run("0..99    ParallelRadixSort", bounded, int[]::clone, radix::sort, a -> Arrays.equals(a, expectedBounded));
+                run("IDs      Arrays.parallelSort", ids, int[]::clone, Arrays::parallelSort, a -> Arrays.equals(a, expectedIds));
+                run("IDs      ParallelRadixSort", ids, int[]::clone, radix::sort, a -> Arrays.equals(a, expectedIds));
+                run("long[]   Arrays.parallelSort", longs, long[]::clone, Arrays::parallelSort, a -> Arrays.equals(a, expectedLongs));
+                run("long[]   ParallelMergeSort", longs, long[]::clone, sorter::sort, a -> Arrays.equals(a, expectedLongs));
+                run("Object[] Arrays.parallelSort", items, Item[]::clone, a -> Arrays.parallelSort(a, BY_KEY), SortBenchmark::isStablySorted);
+                run("Object[] ParallelMergeSort", items, Item[]::clone, a -> sorter.sort(a, BY_KEY), SortBenchmark::isStablySorted);
+            }
+        }
+    }
+
+    interface Copier<A> {
+        A copy(A array);
+    }
+
+    interface Check<A> {
+        boolean ok(A array);
+    }
+
+    private static <A> void run(String name, A input, Copier<A> copier, Sort<A> sort, Check<A> check) {
+        A array = copier.copy(input);
+        long start = System.nanoTime();
+        sort.sort(array);
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("  %-30s %8.1f ms %s%n", name, elapsed / 1e6, check.ok(array) ? "" : "WRONG ORDER");
+    }
+
+    private static boolean isStablySorted(Item[] items) {
+        for (int i = 1; i < items.length; i++) {
+            Item prev = items[i - 1];
+            Item cur = items[i];
+            if (prev.key > cur.key || (prev.key == cur.key && prev.seq > cur.seq)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,111 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free bank account. The balance is kept in cents (fixed-point long).
+ * Deposits land in a LongAdder, which stripes them over per-thread cells so
+ * depositors never contend with each other. Withdrawals take money from an
+ * AtomicLong with compare-and-set and fold the striped deposits into it only
+ * when it runs short, so a withdrawal can never overdraw the account.
+ * A withdrawal only declines once no deposits are pending and no other
+ * withdrawal is in the middle of folding them in, so covered withdrawals
+ * never fail because of a race.
+ */
+public class StripedBankAccount {
+    private final AtomicLong available = new AtomicLong(); // Cents that withdrawals can take
+    private final LongAdder pendingDeposits = new LongAdder(); // Cents deposited but not yet folded in
+    private final AtomicLong foldsStarted = new AtomicLong(); // Folds that have begun draining deposits
+    private final AtomicLong foldsFinished = new AtomicLong(); // Folds that have added what they drained
+    Runnable afterDrain; // Test hook, run between draining and folding in; null normally
+    private final boolean verbose;
+
+    public StripedBankAccount() {
+        this(false);
+    }
+
+    public StripedBankAccount(boolean verbose) {
+        this.verbose = verbose;
+    }
+
+    // Deposit method
+    public void deposit(double amount) {
+        depositCents(toCents(amount));
+        if (verbose) {
+            // Printed after the update, never while other threads wait on us
+            System.out.println("Deposited: $" + amount);
+        }
+    }
+
+    // Withdraw method, returns false when the balance is insufficient
+    public boolean withdraw(double amount) {
+        boolean done = withdrawCents(toCents(amount));
+        if (verbose) {
+            System.out.println(done ? "Withdrawn: $" + amount : "Insufficient balance for withdrawal: $" + amount);
+        }
+        return done;
+    }
+
+    public void depositCents(long cents) {
+        if (cents < 0) {
+            throw new IllegalArgumentException("Deposit must not be negative: " + cents);
+        }
+        pendingDeposits.add(cents);
+    }
+
+    public boolean withdrawCents(long cents) {
+        if (cents < 0) {
+            throw new IllegalArgumentException("Withdrawal must not be negative: " + cents);
+        }
+        while (true) {
+            long current = available.get();
+            if (current >= cents) {
+                if (available.compareAndSet(current, current - cents)) {
+                    return true;
+                }
+                continue; // Lost a race with another withdrawal, read again
+            }
+            // Not enough folded in yet: move the striped deposits over and retry
+            if (pendingDeposits.sum() > 0) {
+                foldsStarted.incrementAndGet(); // Before draining, so others see the money is in flight
+                long drained = pendingDeposits.sumThenReset();
+                if (drained > 0) {
+                    Runnable hook = afterDrain;
+                    if (hook != null) {
+                        hook.run();
+                    }
+                    available.addAndGet(drained);
+                }
+                foldsFinished.incrementAndGet();
+                continue;
+            }
+            // Nothing pending. Decline only if no fold overlapped the checks below,
+            // otherwise drained deposits may have been on their way to available
+            long finished = foldsFinished.get();
+            long started = foldsStarted.get();
+            if (started != finished) {
+                Thread.yield(); // Another withdrawal is folding; let it finish
+                continue;
+            }
+            if (pendingDeposits.sum() > 0 || available.get() >= cents || foldsStarted.get() != started) {
+                continue;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Current balance in cents. Exact when no operation is in flight,
+     * otherwise a snapshot that may miss in-flight deposits.
+     */
+    public long getBalanceCents() {
+        return available.get() + pendingDeposits.sum();
+    }
+
+    public double getBalance() {
+        return getBalanceCents() / 100.0;
+    }
+
+    private static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+}
@@ -0,0 +1,58 @@
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stress check for StripedBankAccount: each round deposits exactly enough
+ * for every thread's withdrawal, then all threads withdraw at once. Every
+ * withdrawal is covered, so a single decline means a withdrawal lost a race
+ * with another one folding the deposits in. The account's test hook yields
+ * in the middle of each fold to make that window easy to hit. Exits with
+ * status 1 on failure.
+ *
+ * Usage: java StripedBankAccountStress [rounds] [threads]
+ */
+public class StripedBankAccountStress {
+    public static void main(String[] args) throws Exception {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        StripedBankAccount account = new StripedBankAccount();
+        // Give up the CPU mid-fold so other withdrawals run inside the window
+        account.afterDrain = Thread::yield;
+        AtomicInteger declined = new AtomicInteger();
+        // The barrier action runs between rounds, while every worker waits
+        CyclicBarrier barrier = new CyclicBarrier(threads, () -> {
+            for (int t = 0; t < threads; t++) {
+                account.depositCents(100);
+            }
+        });
+
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                try {
+                    for (int round = 0; round < rounds; round++) {
+                        barrier.await();
+                        if (!account.withdrawCents(100)) {
+                            declined.incrementAndGet();
+                        }
+                    }
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        long balance = account.getBalanceCents();
+        System.out.println(rounds + " rounds x " + threads + " threads: " + declined.get()
+                + " covered withdrawals declined, final balance " + balance + " cents");
+        if (declined.get() != 0 || balance != 0) {
+            System.out.println("FAILED");
+            System.exit(1);
+        }
+        System.out.println("OK");
+    }
+}
\ No newline at end of file
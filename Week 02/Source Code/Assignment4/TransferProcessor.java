@@ -0,0 +1,184 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Applies batches of A -> B transfers between accounts numbered 0..n-1.
+ * Balances are cents in one long[] guarded by striped locks. A transfer locks
+ * the stripes of both accounts in ascending stripe order, so two transfers
+ * can never wait on each other in a cycle. A batch is cut into contiguous
+ * slices, one per worker thread; transfers within a slice are applied in
+ * order, slices run concurrently.
+ */
+public class TransferProcessor implements AutoCloseable {
+    private static final int STRIPES = 4096; // Power of two
+
+    private final long[] balances;
+    private final Object[] locks = new Object[STRIPES];
+    private final ExecutorService executor;
+    private final int workers;
+
+    public TransferProcessor(int accountCount, long initialBalanceCents, int workers) {
+        this.balances = new long[accountCount];
+        Arrays.fill(balances, initialBalanceCents);
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        this.workers = workers;
+        this.executor = Executors.newFixedThreadPool(workers);
+    }
+
+    /**
+     * Growable batch stored as parallel primitive arrays, so millions of
+     * transfers cost no objects.
+     */
+    public static class Batch {
+        private int[] from = new int[1024];
+        private int[] to = new int[1024];
+        private long[] amount = new long[1024];
+        private int size;
+
+        public void add(int fromAccount, int toAccount, long amountCents) {
+            if (amountCents <= 0) {
+                throw new IllegalArgumentException("Transfer amount must be positive: " + amountCents);
+            }
+            if (size == from.length) {
+                from = Arrays.copyOf(from, size * 2);
+                to = Arrays.copyOf(to, size * 2);
+                amount = Arrays.copyOf(amount, size * 2);
+            }
+            from[size] = fromAccount;
+            to[size] = toAccount;
+            amount[size] = amountCents;
+            size++;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public void clear() {
+            size = 0;
+        }
+    }
+
+    public static class BatchResult {
+        public final int applied;
+        public final int rejected; // Insufficient funds or same source and target
+        public final long latencyNanos;
+
+        BatchResult(int applied, int rejected, long latencyNanos) {
+            this.applied = applied;
+            this.rejected = rejected;
+            this.latencyNanos = latencyNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("applied=%d rejected=%d latency=%.2f ms (%.0f transfers/s)",
+                    applied, rejected, latencyNanos / 1e6, (applied + rejected) / (latencyNanos / 1e9));
+        }
+    }
+
+    public BatchResult process(Batch batch) throws InterruptedException {
+        long start = System.nanoTime();
+        List<Callable<Integer>> slices = new ArrayList<>(workers);
+        int sliceSize = (batch.size + workers - 1) / workers;
+        for (int begin = 0; begin < batch.size; begin += sliceSize) {
+            int from = begin;
+            int to = Math.min(batch.size, begin + sliceSize);
+            slices.add(() -> applySlice(batch, from, to));
+        }
+
+        int applied = 0;
+        try {
+            for (Future<Integer> result : executor.invokeAll(slices)) {
+                applied += result.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Transfer worker failed", e.getCause());
+        }
+        return new BatchResult(applied, batch.size - applied, System.nanoTime() - start);
+    }
+
+    /**
+     * Moves money between two accounts atomically.
+     *
+     * @return false when the source lacks funds or both accounts are the same
+     * @throws ArithmeticException when the target balance would overflow; neither balance changes
+     */
+    public boolean transfer(int fromAccount, int toAccount, long amountCents) {
+        if (amountCents < 0) {
+            throw new IllegalArgumentException("Transfer amount must not be negative: " + amountCents);
+        }
+        if (fromAccount == toAccount) {
+            return false;
+        }
+        int a = fromAccount & (STRIPES - 1);
+        int b = toAccount & (STRIPES - 1);
+        // Always lock the lower stripe first
+        synchronized (locks[Math.min(a, b)]) {
+            synchronized (locks[Math.max(a, b)]) {
+                if (balances[fromAccount] < amountCents) {
+                    return false;
+                }
+                // May throw on overflow, so compute it before touching either balance
+                long credited = Math.addExact(balances[toAccount], amountCents);
+                balances[fromAccount] -= amountCents;
+                balances[toAccount] = credited;
+                return true;
+            }
+        }
+    }
+
+    public long getBalanceCents(int account) {
+        synchronized (locks[account & (STRIPES - 1)]) {
+            return balances[account];
+        }
+    }
+
+    private int applySlice(Batch batch, int begin, int end) {
+        int applied = 0;
+        for (int i = begin; i < end; i++) {
+            if (transfer(batch.from[i], batch.to[i], batch.amount[i])) {
+                applied++;
+            }
+        }
+        return applied;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int accounts = 100_000;
+        int batchSize = 1_000_000;
+        int workers = Runtime.getRuntime().availableProcessors();
+
+        try (TransferProcessor processor = new TransferProcessor(accounts, 100_000 /* $1000.00 */, workers)) {
+            Random random = new Random(42);
+            Batch batch = new Batch();
+            for (int round = 1; round <= 10; round++) {
+                batch.clear();
+                for (int i = 0; i < batchSize; i++) {
+                    batch.add(random.nextInt(accounts), random.nextInt(accounts), 1 + random.nextInt(5_000));
+                }
+                System.out.println("Batch " + round + ": " + processor.process(batch));
+            }
+
+            long total = 0;
+            for (int i = 0; i < accounts; i++) {
+                total += processor.getBalanceCents(i);
+            }
+            System.out.println("Total balance: $" + total / 100 + " (expected $" + accounts * 1_000L + ")");
+        }
+    }
+}
@@ -0,0 +1,603 @@
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Removes lines whose key field repeats an earlier line's, keeping the first
+ * occurrence and the original order.
+ *
+ * The file is memory-mapped and cut into chunks at line boundaries. Worker
+ * threads scan the chunks, find the key column in each line and keep only
+ * its position and a 64-bit hash, never the line itself. Lines are then
+ * grouped into partitions by hash and each partition is deduplicated by its
+ * own thread in an open-addressing table; equal hashes are confirmed by
+ * comparing the key bytes, so a hash collision never drops a line. Finally
+ * the kept lines are copied from the mapping to the output in file order.
+ *
+ * With the Bloom prefilter, each partition is first run through a Bloom
+ * filter: a key whose hash was never seen before is certainly unique and
+ * is kept without touching the exact table. Only hashes the filter flags
+ * as possibly seen (true duplicates plus about 1% false positives) are
+ * checked exactly, so the exact table stays small when most keys are unique.
+ *
+ * Fields are split on plain commas, as before; quoted fields are not parsed.
+ * Lines too short to have the key column are kept as they are.
+ */
+public class DedupEngine implements AutoCloseable {
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int MIN_CHUNK = 1 << 20;
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+    private static final int WINDOW_SIZE = 1 << 30; // countDistinct maps at most this much at once
+    private static final int SAMPLES = 16;
+    private static final int SAMPLE_SIZE = 1 << 16;
+
+    /**
+     * Worst-case heap per input line: the line index (24 bytes, up to twice
+     * that after doubling growth), the keep flag, the partition ref (8) and
+     * the exact table (up to 32 at its sizing), plus the copy made while
+     * an index array grows.
+     */
+    static final int HEAP_BYTES_PER_LINE = 112;
+
+    private final ExecutorService executor;
+    private final int parallelism;
+    private final boolean bloomPrefilter;
+    private final byte[] copyBuffer = new byte[8192];
+
+    public DedupEngine() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public DedupEngine(int parallelism) {
+        this(parallelism, false);
+    }
+
+    public DedupEngine(int parallelism, boolean bloomPrefilter) {
+        this.parallelism = parallelism;
+        this.bloomPrefilter = bloomPrefilter;
+        this.executor = Executors.newFixedThreadPool(parallelism);
+    }
+
+    public static class Result {
+        public final long lines; // Excluding the header
+        public final long written;
+        public final long missingKey; // Kept because the key column was absent
+
+        Result(long lines, long written, long missingKey) {
+            this.lines = lines;
+            this.written = written;
+            this.missingKey = missingKey;
+        }
+
+        public long duplicates() {
+            return lines - written;
+        }
+
+        @Override
+        public String toString() {
+            return lines + " lines, " + written + " written, " + duplicates() + " duplicates removed"
+                    + (missingKey > 0 ? ", " + missingKey + " without the key field" : "");
+        }
+    }
+
+    // Lines of one chunk: where each starts and ends, where its key is, and the key's hash
+    private static class ChunkLines {
+        int[] lineStart = new int[1024];
+        int[] lineEnd = new int[1024]; // Excluding the line terminator
+        int[] keyStart = new int[1024]; // -1 when the line has no key column
+        int[] keyEnd = new int[1024];
+        long[] hash = new long[1024];
+        boolean[] keep;
+        int size;
+
+        void add(int start, int end, int keyFrom, int keyTo, long keyHash) {
+            if (size == lineStart.length) {
+                int capacity = size * 2;
+                lineStart = Arrays.copyOf(lineStart, capacity);
+                lineEnd = Arrays.copyOf(lineEnd, capacity);
+                keyStart = Arrays.copyOf(keyStart, capacity);
+                keyEnd = Arrays.copyOf(keyEnd, capacity);
+                hash = Arrays.copyOf(hash, capacity);
+            }
+            lineStart[size] = start;
+            lineEnd[size] = end;
+            keyStart[size] = keyFrom;
+            keyEnd[size] = keyTo;
+            hash[size] = keyHash;
+            size++;
+        }
+    }
+
+    public Result dedup(Path input, Path output, String keyField) throws IOException {
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize >= Integer.MAX_VALUE) {
+                throw new IOException("File too large to dedup in memory (" + fileSize + " bytes): " + input);
+            }
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            int size = (int) fileSize;
+
+            // Check the key field before opening, and so truncating, the output
+            int headerEnd = lineEnd(data, 0, size);
+            int column = size == 0 ? 0 : resolveColumn(data, headerEnd, keyField);
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(output), 1 << 16)) {
+                if (size == 0) {
+                    return new Result(0, 0, 0);
+                }
+                write(out, data, 0, trimCarriageReturn(data, 0, headerEnd));
+
+                int bodyStart = Math.min(size, headerEnd + 1);
+                ChunkLines[] chunks = scan(data, bodyStart, size, column);
+                markFirstOccurrences(data, chunks);
+
+                long lines = 0;
+                long written = 0;
+                long missing = 0;
+                for (ChunkLines chunk : chunks) {
+                    lines += chunk.size;
+                    for (int i = 0; i < chunk.size; i++) {
+                        if (chunk.keyStart[i] < 0) {
+                            missing++;
+                        }
+                        if (chunk.keep[i]) {
+                            write(out, data, chunk.lineStart[i], chunk.lineEnd[i]);
+                            written++;
+                        }
+                    }
+                }
+                return new Result(lines, written, missing);
+            }
+        }
+    }
+
+    /**
+     * Estimates the number of distinct keys with HyperLogLog, without
+     * removing anything: each chunk is sketched in parallel and the
+     * sketches are merged. Memory use is fixed by the precision. Files of
+     * any size are mapped one window of whole lines at a time.
+     */
+    public long countDistinct(Path input, String keyField, int precision) throws IOException {
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            HyperLogLog total = new HyperLogLog(precision);
+            int column = -1;
+            long position = 0;
+            while (position < fileSize) {
+                int length = (int) Math.min(WINDOW_SIZE, fileSize - position);
+                MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int size = length;
+                if (position + length < fileSize) {
+                    // End the window after its last complete line; the next one starts there
+                    size = lastIndexOf(data, (byte) '\n', length) + 1;
+                    if (size == 0) {
+                        throw new IOException("Line longer than " + WINDOW_SIZE + " bytes at offset " + position
+                                + ": " + input);
+                    }
+                }
+                int from = 0;
+                if (column < 0) {
+                    int headerEnd = lineEnd(data, 0, size);
+                    column = resolveColumn(data, headerEnd, keyField);
+                    from = Math.min(size, headerEnd + 1);
+                }
+                sketch(data, from, size, column, precision, total);
+                position += size;
+            }
+            return total.estimate();
+        }
+    }
+
+    // Adds the keys of [from, to) to the sketch, one sketch per chunk merged at the end
+    private void sketch(MappedByteBuffer data, int from, int to, int column, int precision, HyperLogLog total)
+            throws IOException {
+        if (from == to) {
+            return;
+        }
+        int[] bounds = chunkBounds(data, from, to);
+        HyperLogLog[] sketches = new HyperLogLog[bounds.length - 1];
+        List<Callable<Void>> tasks = new ArrayList<>(sketches.length);
+        for (int c = 0; c < sketches.length; c++) {
+            int index = c;
+            tasks.add(() -> {
+                HyperLogLog sketch = new HyperLogLog(precision);
+                walkLines(data, bounds[index], bounds[index + 1], column, (start, end, keyFrom, keyTo) -> {
+                    if (keyFrom >= 0) {
+                        sketch.add(hash(data, keyFrom, keyTo));
+                    }
+                });
+                sketches[index] = sketch;
+                return null;
+            });
+        }
+        runAll(tasks);
+        for (HyperLogLog sketch : sketches) {
+            total.merge(sketch);
+        }
+    }
+
+    /**
+     * Estimates the number of lines in a file from the average line length
+     * of a few blocks spread over it, without reading the whole file.
+     */
+    static long estimateLines(Path input) throws IOException {
+        try (FileChannel channel = FileChannel.open(input, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize == 0) {
+                return 0;
+            }
+            ByteBuffer block = ByteBuffer.allocate((int) Math.min(SAMPLE_SIZE, fileSize));
+            int samples = (int) Math.min(SAMPLES, Math.max(1, fileSize / SAMPLE_SIZE));
+            long sampled = 0;
+            long newlines = 0;
+            for (int s = 0; s < samples; s++) {
+                block.clear();
+                long position = (fileSize - block.capacity()) * s / Math.max(1, samples - 1);
+                int read;
+                do {
+                    read = channel.read(block, position + block.position());
+                } while (read > 0 && block.hasRemaining());
+                for (int i = 0; i < block.position(); i++) {
+                    if (block.get(i) == '\n') {
+                        newlines++;
+                    }
+                }
+                sampled += block.position();
+            }
+            // A sample without any line break means lines longer than the sample
+            return Math.max(1, fileSize * newlines / Math.max(1, sampled));
+        }
+    }
+
+    // Phase 1: split [from, to) into chunks at line starts and index their lines in parallel
+    private ChunkLines[] scan(MappedByteBuffer data, int from, int to, int column) throws IOException {
+        int[] bounds = chunkBounds(data, from, to);
+        ChunkLines[] chunks = new ChunkLines[bounds.length - 1];
+        List<Callable<Void>> tasks = new ArrayList<>(chunks.length);
+        for (int c = 0; c < chunks.length; c++) {
+            int index = c;
+            tasks.add(() -> {
+                ChunkLines lines = new ChunkLines();
+                walkLines(data, bounds[index], bounds[index + 1], column, (start, end, keyFrom, keyTo) ->
+                        lines.add(start, end, keyFrom, keyTo, keyFrom < 0 ? 0 : hash(data, keyFrom, keyTo)));
+                lines.keep = new boolean[lines.size];
+                chunks[index] = lines;
+                return null;
+            });
+        }
+        runAll(tasks);
+        return chunks;
+    }
+
+    // Chunk c is [bounds[c], bounds[c + 1]); every bound is a line start
+    private int[] chunkBounds(MappedByteBuffer data, int from, int to) {
+        int chunkCount = (int) Math.max(1, Math.min((long) parallelism * CHUNKS_PER_THREAD, (to - from) / MIN_CHUNK));
+        int[] bounds = new int[chunkCount + 1];
+        bounds[0] = from;
+        for (int c = 1; c < chunkCount; c++) {
+            int guess = Math.max(bounds[c - 1], from + (int) ((long) (to - from) * c / chunkCount));
+            bounds[c] = guess == from ? from : Math.min(to, lineEnd(data, guess - 1, to) + 1);
+        }
+        bounds[chunkCount] = to;
+        return bounds;
+    }
+
+    private interface LineVisitor {
+        // keyFrom is -1 when the line has no key column; end excludes the line terminator
+        void line(int start, int end, int keyFrom, int keyTo);
+    }
+
+    private static void walkLines(MappedByteBuffer data, int from, int to, int column, LineVisitor visitor) {
+        int pos = from;
+        while (pos < to) {
+            int end = lineEnd(data, pos, to);
+            int contentEnd = trimCarriageReturn(data, pos, end);
+            // Walk to the key column
+            int keyFrom = pos;
+            for (int field = 0; field < column && keyFrom >= 0; field++) {
+                keyFrom = indexOf(data, (byte) ',', keyFrom, contentEnd);
+                keyFrom = keyFrom < 0 ? -1 : keyFrom + 1;
+            }
+            if (keyFrom < 0) {
+                visitor.line(pos, contentEnd, -1, -1);
+            } else {
+                int keyTo = indexOf(data, (byte) ',', keyFrom, contentEnd);
+                visitor.line(pos, contentEnd, keyFrom, keyTo < 0 ? contentEnd : keyTo);
+            }
+            pos = end + 1;
+        }
+    }
+
+    // Phase 2: group lines by hash into partitions and dedup each partition on its own thread
+    private void markFirstOccurrences(MappedByteBuffer data, ChunkLines[] chunks) throws IOException {
+        int partitionBits = 32 - Integer.numberOfLeadingZeros(parallelism * CHUNKS_PER_THREAD - 1);
+        int partitions = 1 << partitionBits;
+        int[][] counts = new int[chunks.length][partitions];
+        for (int c = 0; c < chunks.length; c++) {
+            ChunkLines chunk = chunks[c];
+            for (int i = 0; i < chunk.size; i++) {
+                if (chunk.keyStart[i] < 0) {
+                    chunk.keep[i] = true;
+                } else {
+                    counts[c][partition(chunk.hash[i], partitionBits)]++;
+                }
+            }
+        }
+
+        // Each partition lists its lines as (chunk << 32 | line), in file order
+        long[][] members = new long[partitions][];
+        for (int p = 0; p < partitions; p++) {
+            int total = 0;
+            for (int c = 0; c < chunks.length; c++) {
+                int count = counts[c][p];
+                counts[c][p] = total; // Becomes this chunk's write offset
+                total += count;
+            }
+            members[p] = new long[total];
+        }
+        List<Callable<Void>> fill = new ArrayList<>(chunks.length);
+        for (int c = 0; c < chunks.length; c++) {
+            int index = c;
+            fill.add(() -> {
+                ChunkLines chunk = chunks[index];
+                int[] next = counts[index];
+                for (int i = 0; i < chunk.size; i++) {
+                    if (chunk.keyStart[i] >= 0) {
+                        int p = partition(chunk.hash[i], partitionBits);
+                        members[p][next[p]++] = (long) index << 32 | i;
+                    }
+                }
+                return null;
+            });
+        }
+        runAll(fill);
+
+        List<Callable<Void>> dedup = new ArrayList<>(partitions);
+        for (long[] partition : members) {
+            dedup.add(() -> {
+                if (bloomPrefilter) {
+                    dedupPartitionPrefiltered(data, chunks, partition);
+                } else {
+                    dedupPartition(data, chunks, partition);
+                }
+                return null;
+            });
+        }
+        runAll(dedup);
+    }
+
+    private static void dedupPartition(MappedByteBuffer data, ChunkLines[] chunks, long[] members) {
+        ExactSet seen = new ExactSet(data, chunks, members.length);
+        for (long ref : members) {
+            if (seen.add(ref)) {
+                chunks[(int) (ref >>> 32)].keep[(int) ref] = true;
+            }
+        }
+    }
+
+    private static void dedupPartitionPrefiltered(MappedByteBuffer data, ChunkLines[] chunks, long[] members) {
+        // First pass: hashes the filter has possibly seen before are the suspects
+        BloomFilter filter = new BloomFilter(members.length, 10);
+        BloomFilter suspects = new BloomFilter(Math.max(64, members.length / 16), 10);
+        int suspectCount = 0;
+        for (long ref : members) {
+            long keyHash = chunks[(int) (ref >>> 32)].hash[(int) ref];
+            if (filter.add(keyHash)) {
+                suspects.add(keyHash);
+                suspectCount++;
+            }
+        }
+        // Every occurrence of a suspect hash, the first included, goes through the
+        // exact set. A false positive of either filter only sends a unique key there too.
+        ExactSet seen = null;
+        for (long ref : members) {
+            ChunkLines chunk = chunks[(int) (ref >>> 32)];
+            int line = (int) ref;
+            if (suspectCount == 0 || !suspects.mightContain(chunk.hash[line])) {
+                chunk.keep[line] = true;
+                continue;
+            }
+            if (seen == null) {
+                seen = new ExactSet(data, chunks, suspectCount * 2);
+            }
+            if (seen.add(ref)) {
+                chunk.keep[line] = true;
+            }
+        }
+    }
+
+    // Open-addressing set of line refs (chunk << 32 | line), compared by key hash and then key bytes
+    private static class ExactSet {
+        private final MappedByteBuffer data;
+        private final ChunkLines[] chunks;
+        private long[] table; // Ref + 1, 0 when empty
+        private int mask;
+        private int size;
+
+        ExactSet(MappedByteBuffer data, ChunkLines[] chunks, int expectedSize) {
+            this.data = data;
+            this.chunks = chunks;
+            int capacity = Integer.highestOneBit(Math.max(2, expectedSize * 2 - 1)) << 1;
+            this.table = new long[capacity];
+            this.mask = capacity - 1;
+        }
+
+        // Returns false when a line with the same key was added before
+        boolean add(long ref) {
+            ChunkLines chunk = chunks[(int) (ref >>> 32)];
+            int line = (int) ref;
+            long keyHash = chunk.hash[line];
+            int slot = (int) keyHash & mask;
+            while (table[slot] != 0) {
+                long seen = table[slot] - 1;
+                ChunkLines seenChunk = chunks[(int) (seen >>> 32)];
+                int seenLine = (int) seen;
+                if (seenChunk.hash[seenLine] == keyHash
+                        && sameBytes(data, chunk.keyStart[line], chunk.keyEnd[line],
+                                seenChunk.keyStart[seenLine], seenChunk.keyEnd[seenLine])) {
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = ref + 1;
+            if (++size * 2 > table.length) {
+                rehash();
+            }
+            return true;
+        }
+
+        private void rehash() {
+            long[] old = table;
+            table = new long[old.length * 2];
+            mask = table.length - 1;
+            for (long entry : old) {
+                if (entry != 0) {
+                    long ref = entry - 1;
+                    int slot = (int) chunks[(int) (ref >>> 32)].hash[(int) ref] & mask;
+                    while (table[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    table[slot] = entry;
+                }
+            }
+        }
+    }
+
+    private void runAll(List<Callable<Void>> tasks) throws IOException {
+        try {
+            for (Future<Void> result : executor.invokeAll(tasks)) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while removing duplicates", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause(); // Such as OutOfMemoryError, which callers may handle
+            }
+            throw new IllegalStateException("Dedup worker failed", e.getCause());
+        }
+    }
+
+    private static int resolveColumn(MappedByteBuffer data, int headerEnd, String keyField) {
+        byte[] header = new byte[trimCarriageReturn(data, 0, headerEnd)];
+        data.get(0, header);
+        return resolveColumn(new String(header, StandardCharsets.UTF_8), keyField);
+    }
+
+    // Index of keyField among the comma-separated header fields
+    static int resolveColumn(String header, String keyField) {
+        String[] fields = header.split(",", -1);
+        for (int i = 0; i < fields.length; i++) {
+            String name = fields[i].trim();
+            if (i == 0 && name.startsWith("\uFEFF")) {
+                name = name.substring(1); // Byte order mark
+            }
+            if (name.equals(keyField)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Key field '" + keyField + "' not found in header: " + header);
+    }
+
+    // Partition from the top bits; the partition tables index with the low bits
+    private static int partition(long hash, int bits) {
+        return bits == 0 ? 0 : (int) (hash >>> (64 - bits));
+    }
+
+    // FNV-1a over the key bytes, finished with the MurmurHash3 mixer
+    private static long hash(MappedByteBuffer data, int from, int to) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = from; i < to; i++) {
+            h ^= data.get(i) & 0xFF;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    // Same hash over an array
+    static long hash(byte[] data, int from, int to) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = from; i < to; i++) {
+            h ^= data[i] & 0xFF;
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    private static boolean sameBytes(MappedByteBuffer data, int aFrom, int aTo, int bFrom, int bTo) {
+        if (aTo - aFrom != bTo - bFrom) {
+            return false;
+        }
+        for (int i = 0; i < aTo - aFrom; i++) {
+            if (data.get(aFrom + i) != data.get(bFrom + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Position of the '\n' ending the line at pos, or to when it is the last line
+    private static int lineEnd(MappedByteBuffer data, int pos, int to) {
+        int newline = indexOf(data, (byte) '\n', pos, to);
+        return newline < 0 ? to : newline;
+    }
+
+    private static int trimCarriageReturn(MappedByteBuffer data, int start, int end) {
+        return end > start && data.get(end - 1) == '\r' ? end - 1 : end;
+    }
+
+    private static int lastIndexOf(MappedByteBuffer data, byte b, int to) {
+        for (int i = to - 1; i >= 0; i--) {
+            if (data.get(i) == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int indexOf(MappedByteBuffer data, byte b, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (data.get(i) == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void write(OutputStream out, MappedByteBuffer data, int from, int to) throws IOException {
+        for (int pos = from; pos < to; pos += copyBuffer.length) {
+            int length = Math.min(copyBuffer.length, to - pos);
+            data.get(pos, copyBuffer, 0, length);
+            out.write(copyBuffer, 0, length);
+        }
+        out.write(LINE_SEPARATOR);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
\ No newline at end of file
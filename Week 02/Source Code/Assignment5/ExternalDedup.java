@@ -0,0 +1,415 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Duplicate removal for inputs whose distinct keys do not fit in the heap.
+ *
+ * 1. The input is streamed once and every line is appended to one of N
+ *    partition files chosen by its key hash, tagged with its byte offset in
+ *    the input. Equal keys always land in the same partition.
+ * 2. Each partition is deduplicated on its own, in parallel as far as the
+ *    memory budget allows. Only the partition's distinct keys are held in
+ *    memory; surviving lines go to a kept file, still in offset order.
+ * 3. The kept files are k-way merged by offset, which restores the input
+ *    order, and written after the header.
+ *
+ * N is chosen so a partition's keys fit comfortably in the budget.
+ * Lines are split on plain commas, like DedupEngine.
+ */
+public class ExternalDedup {
+    private static final int MIN_PARTITIONS = 2;
+    private static final int MAX_PARTITIONS = 4096;
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+
+    private final long memoryBudget;
+    private final int parallelism;
+    private final Path tempDir;
+
+    public ExternalDedup(long memoryBudget) {
+        this(memoryBudget, Runtime.getRuntime().availableProcessors(), Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    public ExternalDedup(long memoryBudget, int parallelism, Path tempDir) {
+        if (memoryBudget < 1 << 20) {
+            throw new IllegalArgumentException("Memory budget must be at least 1 MB: " + memoryBudget);
+        }
+        this.memoryBudget = memoryBudget;
+        this.parallelism = parallelism;
+        this.tempDir = tempDir;
+    }
+
+    public DedupEngine.Result dedup(Path input, Path output, String keyField) throws IOException {
+        Path workDir = Files.createTempDirectory(tempDir, "dedup");
+        try {
+            return run(input, output, keyField, workDir);
+        } finally {
+            try (Stream<Path> files = Files.list(workDir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(workDir);
+        }
+    }
+
+    private DedupEngine.Result run(Path input, Path output, String keyField, Path workDir) throws IOException {
+        // Expect a partition's distinct keys to need a few times its share of the input
+        long inputSize = Files.size(input);
+        int partitions = MIN_PARTITIONS;
+        while (partitions < MAX_PARTITIONS && inputSize / partitions * 4 > memoryBudget) {
+            partitions *= 2;
+        }
+        int partitionBits = Integer.numberOfTrailingZeros(partitions);
+        int bufferSize = (int) Math.max(4096, Math.min(1 << 16, memoryBudget / 4 / partitions));
+
+        try (LineReader reader = new LineReader(Files.newInputStream(input), 1 << 16)) {
+            // Check the key field before opening, and so truncating, the output
+            boolean empty = !reader.next();
+            int column = empty ? 0 : DedupEngine.resolveColumn(
+                    new String(reader.line, 0, reader.length, StandardCharsets.UTF_8), keyField);
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(output), 1 << 16)) {
+                if (empty) {
+                    return new DedupEngine.Result(0, 0, 0);
+                }
+                out.write(reader.line, 0, reader.length);
+                out.write(LINE_SEPARATOR);
+
+                long[] counts = new long[2];
+                long[] partitionBytes =
+                        partition(reader, column, workDir, partitions, partitionBits, bufferSize, counts);
+                long written = dedupPartitions(workDir, partitionBytes, bufferSize);
+                merge(workDir, partitions, bufferSize, out);
+                return new DedupEngine.Result(counts[0], written, counts[1]);
+            }
+        }
+    }
+
+    // Pass 1; counts receives the number of lines and of lines without the key column
+    private static long[] partition(LineReader reader, int column, Path workDir, int partitions, int partitionBits,
+                                    int bufferSize, long[] counts) throws IOException {
+        DataOutputStream[] writers = new DataOutputStream[partitions];
+        long[] sizes = new long[partitions];
+        try {
+            for (int p = 0; p < partitions; p++) {
+                writers[p] = new DataOutputStream(new BufferedOutputStream(
+                        Files.newOutputStream(partitionFile(workDir, p)), bufferSize));
+            }
+            while (reader.next()) {
+                byte[] line = reader.line;
+                int length = reader.length;
+                int keyFrom = 0;
+                for (int field = 0; field < column && keyFrom >= 0; field++) {
+                    keyFrom = indexOf(line, (byte) ',', keyFrom, length);
+                    keyFrom = keyFrom < 0 ? -1 : keyFrom + 1;
+                }
+                int keyTo = -1;
+                int p = 0; // Lines without the key column all go to partition 0 and are kept
+                if (keyFrom >= 0) {
+                    keyTo = indexOf(line, (byte) ',', keyFrom, length);
+                    keyTo = keyTo < 0 ? length : keyTo;
+                    long hash = DedupEngine.hash(line, keyFrom, keyTo);
+                    p = partitionBits == 0 ? 0 : (int) (hash >>> (64 - partitionBits));
+                } else {
+                    counts[1]++;
+                }
+                DataOutputStream writer = writers[p];
+                writer.writeLong(reader.offset);
+                writer.writeInt(keyFrom);
+                writer.writeInt(keyTo);
+                writer.writeInt(length);
+                writer.write(line, 0, length);
+                sizes[p] += 20 + length;
+                counts[0]++;
+            }
+        } finally {
+            for (DataOutputStream writer : writers) {
+                if (writer != null) {
+                    writer.close();
+                }
+            }
+        }
+        return sizes;
+    }
+
+    // Pass 2; returns the number of lines kept
+    private long dedupPartitions(Path workDir, long[] partitionBytes, int bufferSize) throws IOException {
+        long largest = Arrays.stream(partitionBytes).max().orElse(0);
+        // Run as many partitions at once as fit the budget, assuming keys take up to 2x the file
+        int threads = (int) Math.max(1, Math.min(parallelism, memoryBudget / Math.max(1, largest * 2)));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<Long>> tasks = new ArrayList<>(partitionBytes.length);
+            for (int p = 0; p < partitionBytes.length; p++) {
+                int partition = p;
+                tasks.add(() -> dedupPartition(workDir, partition, bufferSize));
+            }
+            long kept = 0;
+            for (Future<Long> result : executor.invokeAll(tasks)) {
+                kept += result.get();
+            }
+            return kept;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while removing duplicates", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException("Dedup worker failed", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static long dedupPartition(Path workDir, int partition, int bufferSize) throws IOException {
+        Path source = partitionFile(workDir, partition);
+        KeySet keys = new KeySet();
+        long kept = 0;
+        byte[] line = new byte[256];
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(source), bufferSize));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                     Files.newOutputStream(keptFile(workDir, partition)), bufferSize))) {
+            while (true) {
+                long offset;
+                try {
+                    offset = in.readLong();
+                } catch (EOFException e) {
+                    break;
+                }
+                int keyFrom = in.readInt();
+                int keyTo = in.readInt();
+                int length = in.readInt();
+                if (line.length < length) {
+                    line = new byte[Math.max(length, line.length * 2)];
+                }
+                in.readFully(line, 0, length);
+                if (keyFrom < 0 || keys.add(line, keyFrom, keyTo)) {
+                    out.writeLong(offset);
+                    out.writeInt(length);
+                    out.write(line, 0, length);
+                    kept++;
+                }
+            }
+        }
+        Files.delete(source); // Frees disk space before the merge
+        return kept;
+    }
+
+    // Pass 3: merge the kept files by input offset
+    private static void merge(Path workDir, int partitions, int bufferSize, OutputStream out) throws IOException {
+        PriorityQueue<KeptReader> heads = new PriorityQueue<>(Comparator.comparingLong((KeptReader r) -> r.offset));
+        List<KeptReader> readers = new ArrayList<>(partitions);
+        try {
+            for (int p = 0; p < partitions; p++) {
+                KeptReader reader = new KeptReader(keptFile(workDir, p), bufferSize);
+                readers.add(reader);
+                if (reader.next()) {
+                    heads.add(reader);
+                }
+            }
+            while (!heads.isEmpty()) {
+                KeptReader reader = heads.poll();
+                out.write(reader.line, 0, reader.length);
+                out.write(LINE_SEPARATOR);
+                if (reader.next()) {
+                    heads.add(reader);
+                }
+            }
+        } finally {
+            for (KeptReader reader : readers) {
+                reader.in.close();
+            }
+        }
+    }
+
+    private static Path partitionFile(Path workDir, int partition) {
+        return workDir.resolve("partition-" + partition);
+    }
+
+    private static Path keptFile(Path workDir, int partition) {
+        return workDir.resolve("kept-" + partition);
+    }
+
+    private static int indexOf(byte[] data, byte b, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (data[i] == b) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Set of byte-string keys: an open-addressing table of hashes pointing
+     * into one byte arena, so a key costs its bytes plus 16 bytes.
+     */
+    private static class KeySet {
+        private long[] hashes = new long[1024];
+        private int[] refs = new int[1024]; // Entry number + 1, 0 when empty
+        private int[] keyStart = new int[512];
+        private int[] keyLength = new int[512];
+        private byte[] arena = new byte[8192];
+        private int arenaSize;
+        private int size;
+
+        // Returns false when the key was already present
+        boolean add(byte[] data, int from, int to) {
+            long hash = DedupEngine.hash(data, from, to);
+            int mask = refs.length - 1;
+            int slot = (int) hash & mask;
+            while (refs[slot] != 0) {
+                int entry = refs[slot] - 1;
+                if (hashes[slot] == hash && Arrays.equals(arena, keyStart[entry], keyStart[entry] + keyLength[entry],
+                        data, from, to)) {
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+            int length = to - from;
+            if (arenaSize + length > arena.length) {
+                arena = Arrays.copyOf(arena, Math.max(arenaSize + length, arena.length * 2));
+            }
+            System.arraycopy(data, from, arena, arenaSize, length);
+            if (size == keyStart.length) {
+                keyStart = Arrays.copyOf(keyStart, size * 2);
+                keyLength = Arrays.copyOf(keyLength, size * 2);
+            }
+            keyStart[size] = arenaSize;
+            keyLength[size] = length;
+            arenaSize += length;
+            hashes[slot] = hash;
+            refs[slot] = ++size;
+            if (size * 2 > refs.length) {
+                rehash();
+            }
+            return true;
+        }
+
+        private void rehash() {
+            long[] oldHashes = hashes;
+            int[] oldRefs = refs;
+            hashes = new long[oldRefs.length * 2];
+            refs = new int[oldRefs.length * 2];
+            int mask = refs.length - 1;
+            for (int i = 0; i < oldRefs.length; i++) {
+                if (oldRefs[i] != 0) {
+                    int slot = (int) oldHashes[i] & mask;
+                    while (refs[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    hashes[slot] = oldHashes[i];
+                    refs[slot] = oldRefs[i];
+                }
+            }
+        }
+    }
+
+    // Reads input lines as bytes without their terminators, tracking each line's offset
+    private static class LineReader implements AutoCloseable {
+        private final InputStream in;
+        private final byte[] buffer;
+        private int pos;
+        private int limit;
+        private long bufferOffset; // Input offset of buffer[0]
+        byte[] line = new byte[256];
+        int length;
+        long offset;
+
+        LineReader(InputStream in, int bufferSize) {
+            this.in = in;
+            this.buffer = new byte[bufferSize];
+        }
+
+        boolean next() throws IOException {
+            length = 0;
+            offset = bufferOffset + pos;
+            boolean any = false;
+            while (true) {
+                if (pos == limit) {
+                    bufferOffset += limit;
+                    pos = 0;
+                    limit = Math.max(0, in.read(buffer));
+                    if (limit == 0) {
+                        break; // End of input
+                    }
+                }
+                any = true;
+                int start = pos;
+                while (pos < limit && buffer[pos] != '\n') {
+                    pos++;
+                }
+                append(start, pos);
+                if (pos < limit) {
+                    pos++; // Skip '\n'
+                    break;
+                }
+            }
+            if (length > 0 && line[length - 1] == '\r') {
+                length--;
+            }
+            return any;
+        }
+
+        private void append(int from, int to) {
+            int count = to - from;
+            if (length + count > line.length) {
+                line = Arrays.copyOf(line, Math.max(length + count, line.length * 2));
+            }
+            System.arraycopy(buffer, from, line, length, count);
+            length += count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private static class KeptReader {
+        final DataInputStream in;
+        byte[] line = new byte[256];
+        int length;
+        long offset;
+
+        KeptReader(Path file, int bufferSize) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), bufferSize));
+        }
+
+        boolean next() throws IOException {
+            try {
+                offset = in.readLong();
+            } catch (EOFException e) {
+                return false;
+            }
+            length = in.readInt();
+            if (line.length < length) {
+                line = new byte[Math.max(length, line.length * 2)];
+            }
+            in.readFully(line, 0, length);
+            return true;
+        }
+    }
+}
\ No newline at end of file
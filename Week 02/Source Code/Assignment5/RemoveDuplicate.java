@@ -1,53 +1,111 @@
-
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Usage: java RemoveDuplicate [input [output [keyField]]] [--bloom] [--external MB] [--estimate]
+ *
+ *   --bloom        put a Bloom filter in front of the exact key set
+ *   --external MB  spill to temporary files, using at most about MB of heap
+ *   --estimate     only estimate the number of distinct keys (HyperLogLog)
+ */
 public class RemoveDuplicate {
 
     public static void main(String[] args) {
-        String inputFile = "data.csv";
-        String outputFile = "output.csv";
-        String keyField = "id"; 
+        List<String> positional = new ArrayList<>();
+        boolean bloom = false;
+        boolean estimate = false;
+        long externalBudget = 0;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--bloom" -> bloom = true;
+                case "--estimate" -> estimate = true;
+                case "--external" -> {
+                    externalBudget = parseBudget(i + 1 < args.length ? args[++i] : null);
+                    if (externalBudget <= 0) {
+                        System.out.println("--external needs a memory budget in whole MB, at least 1");
+                        return;
+                    }
+                }
+                default -> positional.add(args[i]);
+            }
+        }
+        if (estimate && (bloom || externalBudget > 0)) {
+            System.out.println("--estimate only counts keys and cannot be combined with --bloom or --external");
+            return;
+        }
+        if (bloom && externalBudget > 0) {
+            System.out.println("--bloom only applies in memory and cannot be combined with --external");
+            return;
+        }
+        String inputFile = positional.size() > 0 ? positional.get(0) : "data.csv";
+        String outputFile = positional.size() > 1 ? positional.get(1) : "output.csv";
+        String keyField = positional.size() > 2 ? positional.get(2) : "id"; 
 
         try {
-            removeDuplicates(inputFile, outputFile, keyField);
+            if (estimate) {
+                try (DedupEngine engine = new DedupEngine()) {
+                    long distinct = engine.countDistinct(Path.of(inputFile), keyField, HyperLogLog.DEFAULT_PRECISION);
+                    System.out.println("About " + distinct + " distinct values of " + keyField + " (HyperLogLog, ~1% error).");
+                }
+                return;
+            }
+            if (externalBudget > 0) {
+                removeDuplicates(inputFile, outputFile, keyField, externalBudget);
+            } else {
+                removeDuplicates(inputFile, outputFile, keyField, bloom);
+            }
             System.out.println("Duplicates removed successfully.");
         } catch (IOException e) {
             e.printStackTrace();
         }
     }
 
-    public static void removeDuplicates(String inputFile, String outputFile, String keyField) throws IOException {
-        BufferedReader reader = new BufferedReader(new FileReader(inputFile));
-        FileWriter writer = new FileWriter(outputFile);
-
-        Map<String, String> uniqueEntries = new HashMap<>();
-        String line;
-
-        // Read header and write to output file
-        if ((line = reader.readLine()) != null) {
-            writer.write(line + System.lineSeparator());
+    // Budget in bytes, or 0 when the argument is missing, not a number or below 1 MB
+    private static long parseBudget(String megabytes) {
+        if (megabytes == null) {
+            return 0;
         }
+        try {
+            long value = Long.parseLong(megabytes);
+            return value < 1 || value > Long.MAX_VALUE >> 20 ? 0 : value << 20;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
 
-        // Process each line of the input file
-        while ((line = reader.readLine()) != null) {
-            String[] fields = line.split(",");
-            if (fields.length > 0) {
-                String key = fields[0]; // Assuming key field is the first column
+    public static void removeDuplicates(String inputFile, String outputFile, String keyField) throws IOException {
+        removeDuplicates(inputFile, outputFile, keyField, false);
+    }
 
-                // Check if this key is already present (to remove duplicates)
-                if (!uniqueEntries.containsKey(key)) {
-                    uniqueEntries.put(key, line);
-                    writer.write(line + System.lineSeparator());
-                }
+    // bloomPrefilter pays off when most keys are unique
+    public static void removeDuplicates(String inputFile, String outputFile, String keyField, boolean bloomPrefilter)
+            throws IOException {
+        // The in-memory engine's heap grows with the number of lines, not the file size,
+        // and it cannot map 2 GB or more
+        long budget = Runtime.getRuntime().maxMemory() / 2;
+        long size = Files.size(Path.of(inputFile));
+        if (size >= Integer.MAX_VALUE
+                || DedupEngine.estimateLines(Path.of(inputFile)) > budget / DedupEngine.HEAP_BYTES_PER_LINE) {
+            if (bloomPrefilter) {
+                System.out.println("Input too large to dedup in memory; running external without the Bloom prefilter.");
             }
+            removeDuplicates(inputFile, outputFile, keyField, budget);
+            return;
         }
+        // Keeps only key hashes and line positions in memory, and dedups in parallel
+        try (DedupEngine engine = new DedupEngine(Runtime.getRuntime().availableProcessors(), bloomPrefilter)) {
+            DedupEngine.Result result = engine.dedup(Path.of(inputFile), Path.of(outputFile), keyField);
+            System.out.println(result);
+        }
+    }
 
-        reader.close();
-        writer.close();
+    // External mode: spills to temporary partition files so distinct keys need not fit in memory
+    public static void removeDuplicates(String inputFile, String outputFile, String keyField, long memoryBudget)
+            throws IOException {
+        DedupEngine.Result result = new ExternalDedup(memoryBudget).dedup(Path.of(inputFile), Path.of(outputFile), keyField);
+        System.out.println(result + " (external, " + memoryBudget / (1024 * 1024) + " MB budget)");
     }
 }
\ No newline at end of file